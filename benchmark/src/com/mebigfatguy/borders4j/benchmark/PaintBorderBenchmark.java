@@ -0,0 +1,106 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.benchmark;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JPanel;
+import javax.swing.border.Border;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBorderBenchmark {
+
+	@Param({ "AlphaBorder", "CastleBorder", "CheckerboardBorder", "CircleCornersBorder", "CurlyBraceBorder",
+			 "HairBorder", "MultilineBorder", "ScallopBorder", "ScrollBorder", "ShadowedPageBorder" })
+	public String borderClass;
+
+	@Param({ "SMALL", "MEDIUM", "HUGE", "HIDPI" })
+	public Size size;
+
+	@Param({ "true", "false" })
+	public boolean antialias;
+
+	private Border border;
+	private Component component;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() throws Exception {
+		border = (Border) Class.forName("com.mebigfatguy.borders4j." + borderClass).getConstructor().newInstance();
+
+		component = new JPanel();
+		component.setBounds(0, 0, size.width, size.height);
+
+		image = new BufferedImage((int) Math.ceil(size.width * size.scale), (int) Math.ceil(size.height * size.scale), BufferedImage.TYPE_INT_ARGB);
+		graphics = image.createGraphics();
+		graphics.scale(size.scale, size.scale);
+		graphics.setClip(0, 0, size.width, size.height);
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage paintBorder() {
+		border.paintBorder(component, graphics, 0, 0, size.width, size.height);
+		return image;
+	}
+
+	public enum Size {
+		SMALL(64, 48, 1.0),
+		MEDIUM(400, 300, 1.0),
+		HUGE(2560, 1600, 1.0),
+		HIDPI(400, 300, 2.0);
+
+		final int width;
+		final int height;
+		final double scale;
+
+		Size(int width, int height, double scale) {
+			this.width = width;
+			this.height = height;
+			this.scale = scale;
+		}
+	}
+}
@@ -25,27 +25,51 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.util.Arrays;
 
-import javax.swing.Timer;
 import javax.swing.border.AbstractBorder;
 
-import com.mebigfatguy.borders4j.timer.BorderTimer;
+import com.mebigfatguy.borders4j.cache.BorderRenderer;
+import com.mebigfatguy.borders4j.cache.CachedBorderPainter;
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.timer.BorderAnimator;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
 
 public class AlphaBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = 1683232655601392384L;
 
+	private static final float ALPHA_STEP = 0.1f;
+	private static final int STEPS_PER_CYCLE = 20;
+
 	private final Options options;
-	private AlphaComposite composite;
-	private float alphaDelta = 0.1f;
+	private final Color[] stepColors;
+	private final AlphaComposite[] stepComposites;
+	private final CachedBorderPainter painter;
 
 	public AlphaBorder() {
 		this(new Options());
 	}
 
 	public AlphaBorder(Options options) {
-		this.options = options;
-		composite = AlphaComposite.getInstance(options.compositeType, options.transparency);
+		this.options = options.copy();
+		AlphaComposite composite = AlphaComposite.getInstance(this.options.compositeType, this.options.transparency);
+
+		stepColors = new Color[STEPS_PER_CYCLE];
+		stepComposites = new AlphaComposite[STEPS_PER_CYCLE];
+		for (int i = 0; i < STEPS_PER_CYCLE; i++) {
+			Color color = this.options.color;
+			int alpha = Math.round(color.getAlpha() * alphaAt(i));
+			stepColors[i] = new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+			stepComposites[i] = composite.derive(alphaAt(i));
+		}
+
+		painter = new CachedBorderPainter(getClass(), this.options.fingerprint(), STEPS_PER_CYCLE, new BorderRenderer() {
+			@Override
+			public void render(Graphics g, Rectangle r, int frame) {
+				renderBorder(g, r, stepColors[frame], null);
+			}
+		});
 	}
 
 	@Override
@@ -70,55 +94,75 @@ public class AlphaBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			final Rectangle r = c.getBounds();
+
+			int step = 0;
+			if (options.transitionDelay > 0) {
+				step = (int) (BorderAnimator.paintFrame(options.transitionDelay) % STEPS_PER_CYCLE);
+				BorderAnimator.getInstance().animate(c, this, options.transitionDelay);
+			}
+
+			if (options.compositeType == AlphaComposite.SRC_OVER) {
+				if (!options.cached) {
+					renderBorder(g, r, stepColors[step], null);
+				} else if (GraphicsUtils.intersectsFrame(g.getClipBounds(), r, options.top, options.left, options.bottom, options.right)) {
+					painter.paint(c, g, r, step);
+				}
+			} else {
+				renderBorder(g, r, options.color, stepComposites[step]);
+			}
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
+
+	private void renderBorder(Graphics g, Rectangle r, Color color, AlphaComposite frameComposite) {
 
 		Graphics2D g2d = (Graphics2D) g;
 		Color saveColor = g.getColor();
 		Composite saveComposite = g2d.getComposite();
 
 		try {
-			g.setColor(options.color);
-			g2d.setComposite(composite);
+			g.setColor(color);
+			if (frameComposite != null) {
+				g2d.setComposite(frameComposite);
+			}
 
-			final Rectangle r = c.getBounds();
+			Rectangle clip = g.getClipBounds();
 
-			if (options.top > 0) {
+			if ((options.top > 0) && GraphicsUtils.intersects(clip, r.x, r.y, r.width, options.top)) {
 				g.fillRect(r.x, r.y, r.width, options.top);
 			}
 
-			if (options.left > 0) {
+			if ((options.left > 0) && GraphicsUtils.intersects(clip, r.x, r.y + options.top, options.left, r.height - options.bottom - options.top)) {
 				g.fillRect(r.x, r.y + options.top, options.left, r.height - options.bottom - options.top);
 			}
 
-			if (options.bottom > 0) {
+			if ((options.bottom > 0) && GraphicsUtils.intersects(clip, r.x, r.y + r.height - options.bottom, r.width, options.bottom)) {
 				g.fillRect(r.x, r.y + r.height - options.bottom, r.width, options.bottom);
 			}
 
-			if (options.right > 0) {
+			if ((options.right > 0) && GraphicsUtils.intersects(clip, r.x + r.width - options.right, r.y + options.top, options.right, r.height - options.bottom - options.top)) {
 				g.fillRect(r.x + r.width - options.right, r.y + options.top, options.right, r.height - options.bottom - options.top);
 			}
 
-			if (options.transitionDelay > 0) {
-				float alpha = composite.getAlpha() + alphaDelta;
-				if (alpha < 0.0) {
-					alpha = 0.0f;
-					alphaDelta *= -1f;
-				} else if (alpha > 1.0) {
-					alpha = 1.0f;
-					alphaDelta *= -1f;
-				}
-				composite = composite.derive(alpha);
-
-				Timer t = new BorderTimer(c, options.top, options.left, options.bottom, options.right, options.transitionDelay);
-				t.setRepeats(false);
-				t.start();
-			}
-
 		} finally {
 			g.setColor(saveColor);
 			g2d.setComposite(saveComposite);
 		}
 	}
 
+	private float alphaAt(int step) {
+		float alpha = (options.transparency + ALPHA_STEP * step) % 2.0f;
+		if (alpha > 1.0f) {
+			alpha = 2.0f - alpha;
+		}
+
+		return alpha;
+	}
+
 	public static class Options {
 		int top = 6;
 		int left = 6;
@@ -128,6 +172,7 @@ public class AlphaBorder extends AbstractBorder {
 		float transparency = 0.5f;
 		int compositeType = AlphaComposite.SRC_OVER;
 		int transitionDelay = 0;
+		boolean cached = false;
 
 		public Options setTop(int top) {
 			this.top = top;
@@ -168,5 +213,28 @@ public class AlphaBorder extends AbstractBorder {
 			this.transitionDelay = transitionDelay;
 			return this;
 		}
+
+		public Options setCached(boolean cached) {
+			this.cached = cached;
+			return this;
+		}
+
+		Options copy() {
+			Options copy = new Options();
+			copy.top = top;
+			copy.left = left;
+			copy.bottom = bottom;
+			copy.right = right;
+			copy.color = color;
+			copy.transparency = transparency;
+			copy.compositeType = compositeType;
+			copy.transitionDelay = transitionDelay;
+			copy.cached = cached;
+			return copy;
+		}
+
+		Object fingerprint() {
+			return Arrays.<Object>asList(top, left, bottom, right, color, transparency, compositeType);
+		}
 	}
 }
\ No newline at end of file
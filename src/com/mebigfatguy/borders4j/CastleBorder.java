@@ -27,26 +27,49 @@ import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.Stroke;
-import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.border.AbstractBorder;
 
+import com.mebigfatguy.borders4j.cache.BorderRenderer;
+import com.mebigfatguy.borders4j.cache.CachedBorderPainter;
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
 public class CastleBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = -4818846483630232676L;
 
 	private final Options options;
 	private final Stroke stroke;
-	private Rectangle cacheBounds;
-	private Polygon cachePoly;
+	private final CachedBorderPainter painter;
+	private final Map<Component, Geometry> geometries = Collections.synchronizedMap(new WeakHashMap<Component, Geometry>());
+	private final ThreadLocal<Geometry> renderGeometries = new ThreadLocal<Geometry>() {
+		@Override
+		protected Geometry initialValue() {
+			return new Geometry();
+		}
+	};
 
 	public CastleBorder() {
 		this(new Options());
 	}
 
 	public CastleBorder(Options options) {
-		this.options = options;
-		stroke = new BasicStroke(options.lineWidth);
+		this.options = options.copy();
+		stroke = new BasicStroke(this.options.lineWidth);
+		painter = new CachedBorderPainter(getClass(), this.options.fingerprint(), new BorderRenderer() {
+			@Override
+			public void render(Graphics g, Rectangle r, int frame) {
+				renderBorder(g, r, renderGeometries.get());
+			}
+		});
+		painter.setAsync(this.options.asyncRendering);
+		painter.setAccelerated(this.options.acceleratedRendering);
 	}
 
 	@Override
@@ -66,6 +89,37 @@ public class CastleBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			Rectangle r = c.getBounds();
+			int slack = options.lineWidth;
+			if (!GraphicsUtils.intersectsFrame(g.getClipBounds(), r, options.top + slack, options.left + slack, options.bottom + slack, options.right + slack)) {
+				return;
+			}
+
+			if (options.cached) {
+				if (!painter.paint(c, g, r)) {
+					GraphicsUtils.drawPlaceholder(g, r, options.top, options.left, options.bottom, options.right, options.lineColor);
+				}
+			} else {
+				renderBorder(g, r, geometryFor(c));
+			}
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
+
+	private Geometry geometryFor(Component c) {
+		Geometry geometry = geometries.get(c);
+		if (geometry == null) {
+			geometry = new Geometry();
+			geometries.put(c, geometry);
+		}
+
+		return geometry;
+	}
+
+	private void renderBorder(Graphics g, Rectangle r, Geometry geometry) {
 
 		Graphics2D g2d = (Graphics2D) g;
 		Color saveColor = g.getColor();
@@ -73,30 +127,53 @@ public class CastleBorder extends AbstractBorder {
 		Shape saveClip = g.getClip();
 
 		try {
-			Rectangle r = c.getBounds();
-
 			g2d.setStroke(stroke);
 
-			if ((cacheBounds == null) || !r.equals(cacheBounds)) {
-				cachePoly = recalculatePolygon(r);
-				cacheBounds = (Rectangle)r.clone();
+			if ((geometry.width != r.width) || (geometry.height != r.height)) {
+				geometry.polygon = recalculatePolygon(r.width, r.height);
+				geometry.frame = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+				geometry.frame.append(geometry.polygon, false);
+				geometry.frame.append(new Rectangle(options.left, options.top, r.width - (options.left + options.right), r.height - (options.top + options.bottom)), false);
+				geometry.bands = GraphicsUtils.frameBands(new Rectangle(0, 0, r.width, r.height), options.top, options.left, options.bottom, options.right);
+				geometry.width = r.width;
+				geometry.height = r.height;
 			}
 
-			Area clip = new Area(r);
-			r.x += options.left;
-			r.y += options.top;
-			r.width -= options.left + options.right;
-			r.height -= options.top + options.bottom;
-			clip.subtract(new Area(r));
+			boolean strokeFits = strokeFitsFrame();
+			g.clipRect(r.x, r.y, r.width, r.height);
+			g.translate(r.x, r.y);
+			try {
+				g.setColor(options.fillColor);
+				g2d.fill(geometry.frame);
+				g.setColor(options.lineColor);
+				if (strokeFits) {
+					g.drawPolygon(geometry.polygon);
+				}
+			} finally {
+				g.translate(-r.x, -r.y);
+			}
 
-			g.setClip(clip);
+			if (!strokeFits) {
+				Rectangle clipBounds = g.getClipBounds();
+				for (Rectangle band : geometry.bands) {
+					if (band.isEmpty() || !GraphicsUtils.intersects(clipBounds, r.x + band.x, r.y + band.y, band.width, band.height)) {
+						continue;
+					}
+
+					g.setClip(saveClip);
+					g.clipRect(r.x + band.x, r.y + band.y, band.width, band.height);
+					g.translate(r.x, r.y);
+					try {
+						g.drawPolygon(geometry.polygon);
+					} finally {
+						g.translate(-r.x, -r.y);
+					}
+				}
+			}
 
-			g.setColor(options.fillColor);
-			g.fillPolygon(cachePoly);
-			g.setColor(options.lineColor);
-			g.drawPolygon(cachePoly);
 			g.setClip(saveClip);
-			g.drawRect(r.x, r.y, r.width, r.height);
+			g.setColor(options.lineColor);
+			g.drawRect(r.x + options.left, r.y + options.top, r.width - (options.left + options.right), r.height - (options.top + options.bottom));
 		} finally {
 			g.setColor(saveColor);
 			g2d.setStroke(saveStroke);
@@ -104,59 +181,75 @@ public class CastleBorder extends AbstractBorder {
 		}
 	}
 
-	private Polygon recalculatePolygon(Rectangle r) {
+	private boolean strokeFitsFrame() {
+		return options.lineWidth + 2 <= Math.min(Math.min(options.top, options.left), Math.min(options.bottom, options.right));
+	}
+
+	private Polygon recalculatePolygon(int width, int height) {
+		long start = BorderMetrics.startGeometry();
 
 		int[] xpoints =
 		{
-			r.x,
-			r.x + 2 * options.left,
-			r.x + 2 * options.left,
-			r.x + r.width - 2 * options.right,
-			r.x + r.width - 2 * options.right,
-			r.x + r.width,
-			r.x + r.width,
-			r.x + r.width - options.right / 2,
-			r.x + r.width - options.right / 2,
-			r.x + r.width,
-			r.x + r.width,
-			r.x + r.width - 2 * options.right,
-			r.x + r.width - 2 * options.right,
-			r.x + 2 * options.left,
-			r.x + 2 * options.left,
-			r.x,
-			r.x,
-			r.x + options.left / 2,
-			r.x + options.left / 2,
-			r.x,
-			r.x
+			0,
+			2 * options.left,
+			2 * options.left,
+			width - 2 * options.right,
+			width - 2 * options.right,
+			width,
+			width,
+			width - options.right / 2,
+			width - options.right / 2,
+			width,
+			width,
+			width - 2 * options.right,
+			width - 2 * options.right,
+			2 * options.left,
+			2 * options.left,
+			0,
+			0,
+			options.left / 2,
+			options.left / 2,
+			0,
+			0
 		};
 
 		int[] ypoints =
 		{
-			r.y,
-			r.y,
-			r.y + options.top / 2,
-			r.y + options.top / 2,
-			r.y,
-			r.y,
-			r.y + 2 * options.top,
-			r.y + 2 * options.top,
-			r.y + r.height - 2 * options.bottom,
-			r.y + r.height - 2 * options.bottom,
-			r.y + r.height,
-			r.y + r.height,
-			r.y + r.height - options.bottom / 2,
-			r.y + r.height - options.bottom / 2,
-			r.y + r.height,
-			r.y + r.height,
-			r.y + r.height - 2 * options.bottom,
-			r.y + r.height - 2 * options.bottom,
-			r.y + 2 * options.top,
-			r.y + 2 * options.top,
-			r.y
+			0,
+			0,
+			options.top / 2,
+			options.top / 2,
+			0,
+			0,
+			2 * options.top,
+			2 * options.top,
+			height - 2 * options.bottom,
+			height - 2 * options.bottom,
+			height,
+			height,
+			height - options.bottom / 2,
+			height - options.bottom / 2,
+			height,
+			height,
+			height - 2 * options.bottom,
+			height - 2 * options.bottom,
+			2 * options.top,
+			2 * options.top,
+			0
 		};
 
-		return new Polygon(xpoints, ypoints, 21);
+		Polygon polygon = new Polygon(xpoints, ypoints, 21);
+
+		BorderMetrics.recalculated(getClass(), width, height, start);
+		return polygon;
+	}
+
+	private static class Geometry {
+		int width = -1;
+		int height = -1;
+		Polygon polygon;
+		Path2D frame;
+		Rectangle[] bands;
 	}
 
 	public static class Options {
@@ -167,6 +260,9 @@ public class CastleBorder extends AbstractBorder {
 		Color fillColor = Color.LIGHT_GRAY;
 		Color lineColor = Color.BLACK;
 		int lineWidth = 1;
+		boolean cached = false;
+		boolean asyncRendering = false;
+		boolean acceleratedRendering = false;
 
 		public Options setTop(int top) {
 			this.top = top;
@@ -202,5 +298,39 @@ public class CastleBorder extends AbstractBorder {
 			this.lineWidth = lineWidth;
 			return this;
 		}
+
+		public Options setCached(boolean cached) {
+			this.cached = cached;
+			return this;
+		}
+
+		public Options setAsyncRendering(boolean asyncRendering) {
+			this.asyncRendering = asyncRendering;
+			return this;
+		}
+
+		public Options setAcceleratedRendering(boolean acceleratedRendering) {
+			this.acceleratedRendering = acceleratedRendering;
+			return this;
+		}
+
+		Options copy() {
+			Options copy = new Options();
+			copy.top = top;
+			copy.left = left;
+			copy.bottom = bottom;
+			copy.right = right;
+			copy.fillColor = fillColor;
+			copy.lineColor = lineColor;
+			copy.lineWidth = lineWidth;
+			copy.cached = cached;
+			copy.asyncRendering = asyncRendering;
+			copy.acceleratedRendering = acceleratedRendering;
+			return copy;
+		}
+
+		Object fingerprint() {
+			return Arrays.<Object>asList(top, left, bottom, right, fillColor, lineColor, lineWidth);
+		}
 	}
 }
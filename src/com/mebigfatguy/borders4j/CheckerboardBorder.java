@@ -22,25 +22,35 @@ import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.util.Arrays;
 
-import javax.swing.Timer;
 import javax.swing.border.AbstractBorder;
 
-import com.mebigfatguy.borders4j.timer.BorderTimer;
+import com.mebigfatguy.borders4j.cache.BorderRenderer;
+import com.mebigfatguy.borders4j.cache.CachedBorderPainter;
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.timer.BorderAnimator;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
 
 public class CheckerboardBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = -2891429582120416794L;
 
 	private final Options options;
-	private int startIndex = 0;
+	private final CachedBorderPainter painter;
 
 	public CheckerboardBorder() {
 		this(new Options());
 	}
 
 	public CheckerboardBorder(Options options) {
-		this.options = options;
+		this.options = options.copy();
+		painter = new CachedBorderPainter(getClass(), this.options.fingerprint(), this.options.colors.length, new BorderRenderer() {
+			@Override
+			public void render(Graphics g, Rectangle r, int frame) {
+				renderBorder(g, r, frame);
+			}
+		});
 	}
 
 	@Override
@@ -60,58 +70,81 @@ public class CheckerboardBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
-
-		Color saveColor = g.getColor();
+		long paintStart = BorderMetrics.startPaint();
 		try {
 			final Rectangle r = c.getBounds();
 
-			if (options.top > 0) {
-				int colorIndex = startIndex;
-				for (int i = r.x; i < (r.x + r.width); i += options.top) {
-					g.setColor(options.colors[colorIndex]);
-					colorIndex = (colorIndex + 1) % options.colors.length;
-					g.fillRect(i, r.y, options.top, options.top);
-				}
-			}
-			if (options.left > 0) {
-				int colorIndex = startIndex;
-				for (int i = r.y; i < (r.y + r.height); i += options.left) {
-					g.setColor(options.colors[colorIndex]);
-					colorIndex = (colorIndex + 1) % options.colors.length;
-					g.fillRect(r.x, i, options.left, options.left);
-				}
-			}
-			if (options.bottom > 0) {
-				int yPos = r.y + r.height - options.bottom;
-				int colorIndex = startIndex;
-				for (int i = r.x; i < (r.x + r.width); i += options.bottom) {
-					g.setColor(options.colors[colorIndex]);
-					colorIndex = (colorIndex + 1) % options.colors.length;
-					g.fillRect(i, yPos, options.bottom, options.bottom);
-				}
+			int startIndex = 0;
+			if (options.blinkDelay > 0) {
+				startIndex = (int) (BorderAnimator.paintFrame(options.blinkDelay) % options.colors.length);
+				BorderAnimator.getInstance().animate(c, this, options.blinkDelay);
 			}
-			if (options.right > 0) {
-				int xPos = r.x + r.width - options.right;
-				int colorIndex = startIndex;
-				for (int i = r.y; i < (r.y + r.height); i += options.right) {
-					g.setColor(options.colors[colorIndex]);
-					colorIndex = (colorIndex + 1) % options.colors.length;
-					g.fillRect(xPos, i, options.right, options.right);
+
+			if (options.cached) {
+				if (GraphicsUtils.intersectsFrame(g.getClipBounds(), r, options.top, options.left, options.bottom, options.right)) {
+					painter.paint(c, g, r, startIndex);
 				}
+			} else {
+				renderBorder(g, r, startIndex);
 			}
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
 
+	private void renderBorder(Graphics g, Rectangle r, int startIndex) {
 
-			if (options.blinkDelay > 0) {
-				startIndex = (startIndex + 1) % options.colors.length;
-				Timer t = new BorderTimer(c, options.top, options.left, options.bottom, options.right, options.blinkDelay);
-				t.setRepeats(false);
-				t.start();
+		Color saveColor = g.getColor();
+		try {
+			Rectangle clip = g.getClipBounds();
+
+			if ((options.top > 0) && GraphicsUtils.intersects(clip, r.x, r.y, r.width, options.top)) {
+				paintRow(g, clip, startIndex, r.x, r.x + r.width, r.y, options.top);
+			}
+			if ((options.left > 0) && GraphicsUtils.intersects(clip, r.x, r.y, options.left, r.height)) {
+				paintColumn(g, clip, startIndex, r.y, r.y + r.height, r.x, options.left);
+			}
+			if ((options.bottom > 0) && GraphicsUtils.intersects(clip, r.x, r.y + r.height - options.bottom, r.width, options.bottom)) {
+				paintRow(g, clip, startIndex, r.x, r.x + r.width, r.y + r.height - options.bottom, options.bottom);
+			}
+			if ((options.right > 0) && GraphicsUtils.intersects(clip, r.x + r.width - options.right, r.y, options.right, r.height)) {
+				paintColumn(g, clip, startIndex, r.y, r.y + r.height, r.x + r.width - options.right, options.right);
 			}
 		} finally {
 			g.setColor(saveColor);
 		}
 	}
 
+	private void paintRow(Graphics g, Rectangle clip, int startIndex, int start, int end, int yPos, int size) {
+		int first = 0;
+		if (clip != null) {
+			first = Math.max(0, (clip.x - start) / size);
+			end = Math.min(end, clip.x + clip.width);
+		}
+
+		int colorIndex = (startIndex + first) % options.colors.length;
+		for (int i = start + first * size; i < end; i += size) {
+			g.setColor(options.colors[colorIndex]);
+			colorIndex = (colorIndex + 1) % options.colors.length;
+			g.fillRect(i, yPos, size, size);
+		}
+	}
+
+	private void paintColumn(Graphics g, Rectangle clip, int startIndex, int start, int end, int xPos, int size) {
+		int first = 0;
+		if (clip != null) {
+			first = Math.max(0, (clip.y - start) / size);
+			end = Math.min(end, clip.y + clip.height);
+		}
+
+		int colorIndex = (startIndex + first) % options.colors.length;
+		for (int i = start + first * size; i < end; i += size) {
+			g.setColor(options.colors[colorIndex]);
+			colorIndex = (colorIndex + 1) % options.colors.length;
+			g.fillRect(xPos, i, size, size);
+		}
+	}
+
 	public static class Options {
 		public int top = 6;
 		public int left = 6;
@@ -119,6 +152,7 @@ public class CheckerboardBorder extends AbstractBorder {
 		public int right = 6;
 		public Color[] colors = new Color[] { Color.BLACK, Color.WHITE };
 		public int blinkDelay = 0;
+		public boolean cached = false;
 
 		public Options setTop(int top) {
 			this.top = top;
@@ -149,5 +183,26 @@ public class CheckerboardBorder extends AbstractBorder {
 			this.blinkDelay = blinkDelay;
 			return this;
 		}
+
+		public Options setCached(boolean cached) {
+			this.cached = cached;
+			return this;
+		}
+
+		Options copy() {
+			Options copy = new Options();
+			copy.top = top;
+			copy.left = left;
+			copy.bottom = bottom;
+			copy.right = right;
+			copy.colors = colors.clone();
+			copy.blinkDelay = blinkDelay;
+			copy.cached = cached;
+			return copy;
+		}
+
+		Object fingerprint() {
+			return Arrays.<Object>asList(top, left, bottom, right, Arrays.asList(colors));
+		}
 	}
 }
\ No newline at end of file
@@ -23,10 +23,12 @@ import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.awt.geom.Area;
 
 import javax.swing.border.AbstractBorder;
 
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
 public class CircleCornersBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = 1765570151443641304L;
@@ -58,76 +60,98 @@ public class CircleCornersBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			doPaintBorder(c, g, x, y, width, height);
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
 
+	private void doPaintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
 		Color saveColor = g.getColor();
 		Shape saveClip = g.getClip();
 		try {
 			Rectangle r = c.getBounds();
+			Rectangle clipBounds = g.getClipBounds();
+			if (!GraphicsUtils.intersectsFrame(clipBounds, r, options.top, options.left, options.bottom, options.right)) {
+				return;
+			}
+
+			for (Rectangle band : GraphicsUtils.frameBands(r, options.top, options.left, options.bottom, options.right)) {
+				if (band.isEmpty() || !GraphicsUtils.intersects(clipBounds, band.x, band.y, band.width, band.height)) {
+					continue;
+				}
+
+				g.setClip(saveClip);
+				g.clipRect(band.x, band.y, band.width, band.height);
+				paintCorners(g, r, g.getClipBounds());
+			}
+		} finally {
+			g.setColor(saveColor);
+			g.setClip(saveClip);
+		}
+	}
 
-			Area clip = getClippingArea(r);
-			clip.intersect(new Area(saveClip));
-			g.setClip(clip);
+	private void paintCorners(Graphics g, Rectangle r, Rectangle clipBounds) {
+		int slack = options.lineWidth;
+		boolean tl = GraphicsUtils.intersects(clipBounds, r.x - slack, r.y - slack, options.left * 2 + 2 * slack, options.top * 2 + 2 * slack);
+		boolean bl = GraphicsUtils.intersects(clipBounds, r.x - slack, r.y + r.height - 2 * options.bottom - options.lineWidth - slack, options.left * 2 + 2 * slack, options.bottom * 2 + 2 * slack);
+		boolean br = GraphicsUtils.intersects(clipBounds, r.x + r.width - 2 * options.right - options.lineWidth - slack, r.y + r.height - 2 * options.bottom - options.lineWidth - slack, options.right * 2 + 2 * slack, options.bottom * 2 + 2 * slack);
+		boolean tr = GraphicsUtils.intersects(clipBounds, r.x + r.width - 2 * options.right - options.lineWidth - slack, r.y - slack, options.right * 2 + 2 * slack, options.top * 2 + 2 * slack);
 
-			g.setColor(options.fillColor);
+		g.setColor(options.fillColor);
+		if (tl) {
 			g.fillOval(r.x, r.y, options.left*2, options.top*2); //tl
+		}
+		if (bl) {
 			g.fillOval(r.x, r.y + r.height - 2 * options.bottom - options.lineWidth, options.left * 2, options.bottom * 2); //bl
+		}
+		if (br) {
 			g.fillOval(r.x + r.width - 2 * options.right - options.lineWidth, r.y + r.height - 2 * options.bottom - options.lineWidth, options.right * 2, options.bottom * 2); //br
+		}
+		if (tr) {
 			g.fillOval(r.x + r.width - 2 * options.right - options.lineWidth, r.y, options.right * 2, options.top * 2); //tr
+		}
 
-			g.setColor(options.lineColor);
+		g.setColor(options.lineColor);
+		if (tl) {
 			g.drawOval(r.x, r.y, options.left*2, options.top*2); //tl
+		}
+		if (bl) {
 			g.drawOval(r.x, r.y + r.height - 2 * options.bottom - options.lineWidth, options.left * 2, options.bottom * 2); //bl
+		}
+		if (br) {
 			g.drawOval(r.x + r.width - 2 * options.right - options.lineWidth, r.y + r.height - 2 * options.bottom - options.lineWidth, options.right * 2, options.bottom * 2); //br
+		}
+		if (tr) {
 			g.drawOval(r.x + r.width - 2 * options.right - options.lineWidth, r.y, options.right * 2, options.top * 2); //tr
+		}
 
-			if (options.drawEdges) {
-				r.x += options.left - options.lineWidth;
-				r.y += options.top - options.lineWidth;
-				r.width -= options.left + options.right - options.lineWidth;
-				r.height -= options.top + options.bottom - options.lineWidth;
-				g.drawRect(r.x, r.y, r.width, r.height);
-			} else {
-				int lX = r.x + options.left - options.lineWidth;
-				int rX = r.x + r.width - options.right;
-				int tY = r.y + options.top - options.lineWidth;
-				int bY = r.y + r.height - options.bottom;
-
+		if (options.drawEdges) {
+			g.drawRect(r.x + options.left - options.lineWidth, r.y + options.top - options.lineWidth, r.width - (options.left + options.right - options.lineWidth), r.height - (options.top + options.bottom - options.lineWidth));
+		} else {
+			int lX = r.x + options.left - options.lineWidth;
+			int rX = r.x + r.width - options.right;
+			int tY = r.y + options.top - options.lineWidth;
+			int bY = r.y + r.height - options.bottom;
 
-				g.drawLine(lX, tY, r.x + options.left * 2, tY);
-				g.drawLine(lX, tY, lX, r.y + options.top * 2);
 
-				g.drawLine(lX, bY, r.x + options.left * 2, bY);
-				g.drawLine(lX, bY, lX, r.height - options.bottom * 2 - options.lineWidth);
+			g.drawLine(lX, tY, r.x + options.left * 2, tY);
+			g.drawLine(lX, tY, lX, r.y + options.top * 2);
 
-				g.drawLine(r.x + r.width - options.right * 2, bY, rX, bY);
-				g.drawLine(rX, bY, rX, r.y + r.height - options.bottom * 2);
+			g.drawLine(lX, bY, r.x + options.left * 2, bY);
+			g.drawLine(lX, bY, lX, r.height - options.bottom * 2 - options.lineWidth);
 
-				g.drawLine(r.x + r.width - options.right * 2, tY, rX, lX);
-				g.drawLine(rX, tY, rX, r.y + options.top * 2 - options.lineWidth);
+			g.drawLine(r.x + r.width - options.right * 2, bY, rX, bY);
+			g.drawLine(rX, bY, rX, r.y + r.height - options.bottom * 2);
 
-			}
+			g.drawLine(r.x + r.width - options.right * 2, tY, rX, lX);
+			g.drawLine(rX, tY, rX, r.y + options.top * 2 - options.lineWidth);
 
-		} finally {
-			g.setColor(saveColor);
-			g.setClip(saveClip);
 		}
 	}
 
-	private Area getClippingArea(Rectangle r) {
-
-		Rectangle topRect = new Rectangle(r.x, r.y, r.width, options.top);
-		Rectangle leftRect = new Rectangle(r.x, r.y, options.left, r.height);
-		Rectangle bottomRect = new Rectangle(r.x, r.y + r.height - options.bottom, r.width, options.bottom);
-		Rectangle rightRect = new Rectangle(r.x + r.width - options.right, r.y, options.right, r.height);
-
-		Area clip = new Area(topRect);
-		clip.add(new Area(leftRect));
-		clip.add(new Area(bottomRect));
-		clip.add(new Area(rightRect));
-
-		return clip;
-	}
-
 	public static class Options {
 		int top = 8;
 		int left = 8;
@@ -25,13 +25,22 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Shape;
 import java.awt.Stroke;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.border.AbstractBorder;
 
 import com.mebigfatguy.borders4j.bezier.BezierRenderer;
+import com.mebigfatguy.borders4j.cache.BorderRenderer;
+import com.mebigfatguy.borders4j.cache.CachedBorderPainter;
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
 
 public class CurlyBraceBorder extends AbstractBorder {
 
@@ -39,16 +48,30 @@ public class CurlyBraceBorder extends AbstractBorder {
 
 	private final Options options;
 	private final Stroke stroke;
-	private Rectangle cacheBounds;
-	private final List<float[][]> bezierPts = new ArrayList<float[][]>();
+	private final CachedBorderPainter painter;
+	private final Map<Component, Geometry> geometries = Collections.synchronizedMap(new WeakHashMap<Component, Geometry>());
+	private final ThreadLocal<Geometry> renderGeometries = new ThreadLocal<Geometry>() {
+		@Override
+		protected Geometry initialValue() {
+			return new Geometry();
+		}
+	};
 
 	public CurlyBraceBorder() {
 		this(new Options());
 	}
 
 	public CurlyBraceBorder(Options options) {
-		this.options = options;
-		stroke = new BasicStroke(options.lineWidth);
+		this.options = options.copy();
+		stroke = new BasicStroke(this.options.lineWidth);
+		painter = new CachedBorderPainter(getClass(), this.options.fingerprint(), new BorderRenderer() {
+			@Override
+			public void render(Graphics g, Rectangle r, int frame) {
+				renderBorder(g, r, renderGeometries.get());
+			}
+		});
+		painter.setAsync(this.options.asyncRendering);
+		painter.setAccelerated(this.options.acceleratedRendering);
 	}
 
 	@Override
@@ -68,6 +91,37 @@ public class CurlyBraceBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			Rectangle r = c.getBounds();
+			int slack = options.lineWidth;
+			if (!GraphicsUtils.intersectsFrame(g.getClipBounds(), r, options.top + slack, options.left + slack, options.bottom + slack, options.right + slack)) {
+				return;
+			}
+
+			if (options.cached) {
+				if (!painter.paint(c, g, r)) {
+					GraphicsUtils.drawPlaceholder(g, r, options.top, options.left, options.bottom, options.right, options.color);
+				}
+			} else {
+				renderBorder(g, r, geometryFor(c));
+			}
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
+
+	private Geometry geometryFor(Component c) {
+		Geometry geometry = geometries.get(c);
+		if (geometry == null) {
+			geometry = new Geometry();
+			geometries.put(c, geometry);
+		}
+
+		return geometry;
+	}
+
+	private void renderBorder(Graphics g, Rectangle r, Geometry geometry) {
 
 		Graphics2D g2d = (Graphics2D) g;
 		Color saveColor = g.getColor();
@@ -75,21 +129,27 @@ public class CurlyBraceBorder extends AbstractBorder {
 		RenderingHints saveHints = g2d.getRenderingHints();
 
 		try {
-			Rectangle r = c.getBounds();
-
-			if ((cacheBounds == null) || !r.equals(cacheBounds)) {
-				recalculateBezierPts(r);
-				cacheBounds = (Rectangle)r.clone();
+			if (geometry.top.length != r.width) {
+				recalculateTopEdge(geometry.top, r.width);
+			}
+			if (geometry.left.length != r.height) {
+				recalculateLeftEdge(geometry.left, r.height);
+			}
+			if (geometry.bottom.length != r.width) {
+				recalculateBottomEdge(geometry.bottom, r.width);
+			}
+			if (geometry.right.length != r.height) {
+				recalculateRightEdge(geometry.right, r.height);
 			}
 
 			g.setColor(options.color);
 			g2d.setStroke(stroke);
 			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-			for (float[][] pts : bezierPts) {
-				BezierRenderer.draw(g, pts);
-			}
-
+			paintEdge(g2d, geometry.top, r.x, r.y);
+			paintEdge(g2d, geometry.left, r.x, r.y);
+			paintEdge(g2d, geometry.bottom, r.x, r.y + r.height);
+			paintEdge(g2d, geometry.right, r.x + r.width, r.y);
 		} finally {
 			g.setColor(saveColor);
 			g2d.setStroke(saveStroke);
@@ -97,84 +157,151 @@ public class CurlyBraceBorder extends AbstractBorder {
 		}
 	}
 
-	private void recalculateBezierPts(Rectangle r) {
-		bezierPts.clear();
+	private void paintEdge(Graphics2D g2d, Edge edge, int dx, int dy) {
+		if (edge.bezierPts.isEmpty()) {
+			return;
+		}
+
+		g2d.translate(dx, dy);
+		try {
+			if (options.pathRendering) {
+				if (edge.outline == null) {
+					edge.outline = stroke.createStrokedShape(BezierRenderer.createPath(edge.bezierPts));
+				}
+				g2d.fill(edge.outline);
+			} else {
+				BezierRenderer.draw(g2d, edge.bezierPts);
+			}
+		} finally {
+			g2d.translate(-dx, -dy);
+		}
+	}
+
+	private void recalculateTopEdge(Edge edge, int width) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(width);
 
 		if (options.top > 0) {
 			float[][] pts = new float[][]
             {
-				{r.x,r.y + options.top},
-				{r.x,r.y - options.top},
-				{r.x + r.width/2,r.y + options.top * 2},
-				{r.x + r.width/2,r.y},
+				{0,options.top},
+				{0,-options.top},
+				{width/2,options.top * 2},
+				{width/2,0},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
             {
-				{r.x + r.width,r.y + options.top},
-				{r.x + r.width,r.y - options.top},
-				{r.x + r.width/2,r.y + options.top * 2},
-				{r.x + r.width/2,r.y},
+				{width,options.top},
+				{width,-options.top},
+				{width/2,options.top * 2},
+				{width/2,0},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 		}
+
+		BorderMetrics.recalculated(getClass(), width, options.top, start);
+	}
+
+	private void recalculateLeftEdge(Edge edge, int height) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(height);
+
 		if (options.left > 0) {
 			float[][] pts = new float[][]
             {
-				{r.x + options.left,r.y},
-				{r.x - options.left,r.y},
-				{r.x + options.left * 2,r.y + r.height/2},
-				{r.x,r.y + r.height/2},
+				{options.left,0},
+				{-options.left,0},
+				{options.left * 2,height/2},
+				{0,height/2},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
             {
-				{r.x,r.y + r.height / 2},
-				{r.x + options.left * 2,r.y + r.height / 2},
-				{r.x - options.left,r.y + r.height},
-				{r.x + options.left,r.y + r.height},
+				{0,height / 2},
+				{options.left * 2,height / 2},
+				{-options.left,height},
+				{options.left,height},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 		}
+
+		BorderMetrics.recalculated(getClass(), options.left, height, start);
+	}
+
+	private void recalculateBottomEdge(Edge edge, int width) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(width);
+
 		if (options.bottom > 0) {
 			float[][] pts = new float[][]
             {
-				{r.x,r.y + r.height - options.bottom},
-				{r.x,r.y + r.height + options.bottom},
-				{r.x + r.width/2,r.y + r.height - options.bottom * 2},
-				{r.x + r.width/2,r.y + r.height},
+				{0,-options.bottom},
+				{0,options.bottom},
+				{width/2,-options.bottom * 2},
+				{width/2,0},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
             {
-				{r.x + r.width,r.y + r.height - options.bottom},
-				{r.x + r.width,r.y + r.height + options.bottom},
-				{r.x + r.width/2,r.y + r.height - options.bottom * 2},
-				{r.x + r.width/2,r.y + r.height},
+				{width,-options.bottom},
+				{width,options.bottom},
+				{width/2,-options.bottom * 2},
+				{width/2,0},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 		}
+
+		BorderMetrics.recalculated(getClass(), width, options.bottom, start);
+	}
+
+	private void recalculateRightEdge(Edge edge, int height) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(height);
+
 		if (options.right > 0) {
 			float[][] pts = new float[][]
             {
-				{r.x + r.width - options.right,r.y},
-				{r.x + r.width + options.right,r.y},
-				{r.x + r.width - options.right * 2,r.y + r.height/2},
-				{r.x + r.width,r.y + r.height/2},
+				{-options.right,0},
+				{options.right,0},
+				{-options.right * 2,height/2},
+				{0,height/2},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
             {
-				{r.x + r.width,r.y + r.height / 2},
-				{r.x + r.width - options.right * 2,r.y + r.height / 2},
-				{r.x + r.width + options.right,r.y + r.height},
-				{r.x + r.width - options.right,r.y + r.height},
+				{0,height / 2},
+				{-options.right * 2,height / 2},
+				{options.right,height},
+				{-options.right,height},
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
+		}
+
+		BorderMetrics.recalculated(getClass(), options.right, height, start);
+	}
+
+
+	private static class Geometry {
+		final Edge top = new Edge();
+		final Edge left = new Edge();
+		final Edge bottom = new Edge();
+		final Edge right = new Edge();
+	}
+
+	private static class Edge {
+		int length = -1;
+		Shape outline;
+		final List<float[][]> bezierPts = new ArrayList<float[][]>();
+
+		void reset(int length) {
+			this.length = length;
+			outline = null;
+			bezierPts.clear();
 		}
 	}
 
@@ -185,6 +312,10 @@ public class CurlyBraceBorder extends AbstractBorder {
 		int right = 20;
 		Color color = Color.BLACK;
 		int lineWidth = 1;
+		boolean cached = false;
+		boolean asyncRendering = false;
+		boolean acceleratedRendering = false;
+		boolean pathRendering = false;
 
 		public Options setTop(int top) {
 			this.top = top;
@@ -215,5 +346,44 @@ public class CurlyBraceBorder extends AbstractBorder {
 			this.lineWidth = lineWidth;
 			return this;
 		}
+
+		public Options setCached(boolean cached) {
+			this.cached = cached;
+			return this;
+		}
+
+		public Options setAsyncRendering(boolean asyncRendering) {
+			this.asyncRendering = asyncRendering;
+			return this;
+		}
+
+		public Options setAcceleratedRendering(boolean acceleratedRendering) {
+			this.acceleratedRendering = acceleratedRendering;
+			return this;
+		}
+
+		public Options setPathRendering(boolean pathRendering) {
+			this.pathRendering = pathRendering;
+			return this;
+		}
+
+		Options copy() {
+			Options copy = new Options();
+			copy.top = top;
+			copy.left = left;
+			copy.bottom = bottom;
+			copy.right = right;
+			copy.color = color;
+			copy.lineWidth = lineWidth;
+			copy.cached = cached;
+			copy.asyncRendering = asyncRendering;
+			copy.acceleratedRendering = acceleratedRendering;
+			copy.pathRendering = pathRendering;
+			return copy;
+		}
+
+		Object fingerprint() {
+			return Arrays.<Object>asList(top, left, bottom, right, color, lineWidth, pathRendering);
+		}
 	}
 }
@@ -27,22 +27,28 @@ import java.awt.Rectangle;
 import java.awt.Stroke;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.border.AbstractBorder;
 
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
 public class HairBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = -6466674892728127991L;
 
+	private static final int NO_EDGE = 0;
+	private static final int TOP_EDGE = 1;
+	private static final int LEFT_EDGE = 2;
+	private static final int BOTTOM_EDGE = 3;
+	private static final int RIGHT_EDGE = 4;
+
 	private final Options options;
 	private final Stroke stroke;
-	private Component listenerComponent;
-	private HiliteListener hiliteListener;
-	private final Rectangle updateRect = new Rectangle(0, 0, 0, 0);
-	private int topHilitePos = -1;
-	private int leftHilitePos = -1;
-	private int bottomHilitePos = -1;
-	private int rightHilitePos = -1;
+	private final Map<Component, HiliteListener> hiliteListeners = Collections.synchronizedMap(new WeakHashMap<Component, HiliteListener>());
 
 	public HairBorder() {
 		this(new Options());
@@ -70,16 +76,20 @@ public class HairBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
-
-		if ((hiliteListener != null) && (c != listenerComponent)) {
-			listenerComponent.removeMouseMotionListener(hiliteListener);
-			hiliteListener = null;
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			doPaintBorder(c, g, x, y, width, height);
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
 		}
+	}
 
+	private void doPaintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		HiliteListener hiliteListener = hiliteListeners.get(c);
 		if (hiliteListener == null) {
-			hiliteListener = new HiliteListener(c);
+			hiliteListener = new HiliteListener();
 			c.addMouseMotionListener(hiliteListener);
-			listenerComponent = c;
+			hiliteListeners.put(c, hiliteListener);
 		}
 
 		Graphics2D g2d = (Graphics2D) g;
@@ -88,15 +98,23 @@ public class HairBorder extends AbstractBorder {
 
 		try {
 			Rectangle r = c.getBounds();
+			Rectangle clip = g.getClipBounds();
+			int slack = options.lineWidth;
 			g2d.setStroke(stroke);
 			g.setColor(options.lineColor);
 
-			if (options.top > 1) {
+			if ((options.top > 1) && GraphicsUtils.intersects(clip, r.x, r.y - slack, r.width, options.top + 2 * slack)) {
 				int right = r.x + r.width - options.right;
+				int first = r.x + options.left;
+				if (clip != null) {
+					first = firstHair(first, clip.x - slack);
+					right = Math.min(right, clip.x + clip.width + slack);
+				}
+				int hilitePos = hairPosition(hiliteListener, TOP_EDGE, r.x + options.left);
 				int start = r.y + options.top/2;
 				int end = r.y + options.top;
-				for (int i = r.x + options.left; i < right; i+= options.lineSpacing) {
-					boolean hilite = Math.abs(i - topHilitePos) < options.lineSpacing;
+				for (int i = first; i < right; i+= options.lineSpacing) {
+					boolean hilite = i == hilitePos;
 					if (hilite) {
 						g.setColor(options.hiliteColor);
 						start = r.y;
@@ -109,12 +127,18 @@ public class HairBorder extends AbstractBorder {
 				}
 			}
 
-			if (options.left > 1) {
+			if ((options.left > 1) && GraphicsUtils.intersects(clip, r.x - slack, r.y, options.left + 2 * slack, r.height)) {
 				int bottom = r.y + r.height - options.bottom;
+				int first = r.y + options.top;
+				if (clip != null) {
+					first = firstHair(first, clip.y - slack);
+					bottom = Math.min(bottom, clip.y + clip.height + slack);
+				}
+				int hilitePos = hairPosition(hiliteListener, LEFT_EDGE, r.y + options.top);
 				int start = r.x + (options.left/2);
 				int end = r.x + options.left;
-				for (int i = r.y + options.top; i < bottom; i+= options.lineSpacing) {
-					boolean hilite = Math.abs(i - leftHilitePos) < options.lineSpacing;
+				for (int i = first; i < bottom; i+= options.lineSpacing) {
+					boolean hilite = i == hilitePos;
 					if (hilite) {
 						g.setColor(options.hiliteColor);
 						start = r.x;
@@ -127,45 +151,52 @@ public class HairBorder extends AbstractBorder {
 				}
 			}
 
-			if (options.bottom > 1) {
+			if ((options.bottom > 1) && GraphicsUtils.intersects(clip, r.x, r.y + r.height - options.bottom - slack, r.width, options.bottom + 2 * slack)) {
 				int right = r.x + r.width - options.right;
-				int end = r.x + r.y + r.height - (options.top/2);
-				for (int i = r.x + options.left; i < right; i+= options.lineSpacing) {
-					boolean hilite = Math.abs(i - bottomHilitePos) < options.lineSpacing;
+				int first = r.x + options.left;
+				if (clip != null) {
+					first = firstHair(first, clip.x - slack);
+					right = Math.min(right, clip.x + clip.width + slack);
+				}
+				int hilitePos = hairPosition(hiliteListener, BOTTOM_EDGE, r.x + options.left);
+				int end = r.y + r.height - (options.bottom/2);
+				for (int i = first; i < right; i+= options.lineSpacing) {
+					boolean hilite = i == hilitePos;
 					if (hilite) {
 						g.setColor(options.hiliteColor);
-						end = r.x + r.y + r.height;
+						end = r.y + r.height;
 					}
-					g.drawLine(i, end, i, r.y + r.height - options.top);
+					g.drawLine(i, end, i, r.y + r.height - options.bottom);
 					if (hilite) {
 						g.setColor(options.lineColor);
-						end = r.x + r.y + r.height - (options.top/2);
+						end = r.y + r.height - (options.bottom/2);
 					}
 				}
 			}
 
-			if (options.right > 1) {
+			if ((options.right > 1) && GraphicsUtils.intersects(clip, r.x + r.width - options.right - slack, r.y, options.right + 2 * slack, r.height)) {
 				int bottom = r.y + r.height - options.bottom;
-				int end = r.x + r.width - (options.left/2);
-				for (int i = r.y + options.top; i < bottom; i+= options.lineSpacing) {
-					boolean hilite = Math.abs(i - rightHilitePos) < options.lineSpacing;
+				int first = r.y + options.top;
+				if (clip != null) {
+					first = firstHair(first, clip.y - slack);
+					bottom = Math.min(bottom, clip.y + clip.height + slack);
+				}
+				int hilitePos = hairPosition(hiliteListener, RIGHT_EDGE, r.y + options.top);
+				int end = r.x + r.width - (options.right/2);
+				for (int i = first; i < bottom; i+= options.lineSpacing) {
+					boolean hilite = i == hilitePos;
 					if (hilite) {
 						g.setColor(options.hiliteColor);
 						end = r.x + r.width;
 					}
-					g.drawLine(end, i, r.x + r.width - options.left, i);
+					g.drawLine(end, i, r.x + r.width - options.right, i);
 					if (hilite) {
 						g.setColor(options.lineColor);
-						end = r.x + r.width - (options.left/2);
+						end = r.x + r.width - (options.right/2);
 					}
 				}
 			}
 
-			if (!updateRect.isEmpty()) {
-				c.repaint(updateRect.x, updateRect.y, updateRect.width, updateRect.height);
-				updateRect.setSize(0, 0);
-			}
-
 			g2d.setStroke(stroke);
 		} finally {
 			g.setColor(saveColor);
@@ -173,6 +204,41 @@ public class HairBorder extends AbstractBorder {
 		}
 	}
 
+	private int hairPosition(HiliteListener hiliteListener, int edge, int base) {
+		if (edge != hiliteListener.hiliteEdge) {
+			return Integer.MIN_VALUE;
+		}
+
+		return base + hiliteListener.hiliteHair * options.lineSpacing;
+	}
+
+	int hairIndex(int pos, int start, int end) {
+		int count = (end - start + options.lineSpacing - 1) / options.lineSpacing;
+		int index = (pos - start + options.lineSpacing / 2) / options.lineSpacing;
+
+		return Math.max(0, Math.min(count - 1, index));
+	}
+
+	private void repaintHair(Component c, Rectangle r, int edge, int hair) {
+		int gap = options.lineWidth + 1;
+		if (edge == TOP_EDGE) {
+			c.repaint(r.x + options.left + hair * options.lineSpacing - gap, r.y, 2 * gap, options.top + gap);
+		} else if (edge == LEFT_EDGE) {
+			c.repaint(r.x, r.y + options.top + hair * options.lineSpacing - gap, options.left + gap, 2 * gap);
+		} else if (edge == BOTTOM_EDGE) {
+			c.repaint(r.x + options.left + hair * options.lineSpacing - gap, r.y + r.height - options.bottom - gap, 2 * gap, options.bottom + gap);
+		} else if (edge == RIGHT_EDGE) {
+			c.repaint(r.x + r.width - options.right - gap, r.y + options.top + hair * options.lineSpacing - gap, options.right + gap, 2 * gap);
+		}
+	}
+
+	private int firstHair(int base, int clipStart) {
+		if (clipStart <= base) {
+			return base;
+		}
+
+		return base + ((clipStart - base) / options.lineSpacing) * options.lineSpacing;
+	}
 
 	public static final class Options {
 		int top = 14;
@@ -227,11 +293,8 @@ public class HairBorder extends AbstractBorder {
 
 	private class HiliteListener implements MouseMotionListener {
 
-		private final Component component;
-
-		public HiliteListener(Component component) {
-			this.component = component;
-		}
+		private int hiliteEdge = NO_EDGE;
+		private int hiliteHair = -1;
 
 		@Override
 		public void mouseDragged(MouseEvent e) {
@@ -239,50 +302,36 @@ public class HairBorder extends AbstractBorder {
 
 		@Override
 		public void mouseMoved(MouseEvent e) {
+			Component component = e.getComponent();
 			Rectangle r = component.getBounds();
 
 			int mX = e.getX();
 			int mY = e.getY();
-			int gap = options.lineSpacing + options.lineWidth;
 
+			int edge = NO_EDGE;
+			int hair = -1;
 			if ((mY < (r.y + options.top)) && (mX > (r.x + options.left)) && (mX < r.x + r.width - options.right)) {
-				int x = e.getX();
-				topHilitePos = x;
-				updateRect.setBounds(mX - gap, r.y, mX + gap, r.y + options.top);
-				component.repaint(mX - gap, r.y, mX + gap, r.y + options.top);
-				leftHilitePos = -1;
-				bottomHilitePos = -1;
-				rightHilitePos = -1;
+				edge = TOP_EDGE;
+				hair = hairIndex(mX, r.x + options.left, r.x + r.width - options.right);
 			} else if ((mX < (r.x + options.left)) && (mY > (r.y + options.top)) && (mY < (r.y + r.height - options.bottom))) {
-				int y = e.getY();
-				leftHilitePos = y;
-				updateRect.setBounds(r.x, mY - gap, r.x + options.left, mY + gap);
-				component.repaint(r.x, mY - gap, r.x + options.left, mY + gap);
-				topHilitePos = -1;
-				bottomHilitePos = -1;
-				rightHilitePos = -1;
+				edge = LEFT_EDGE;
+				hair = hairIndex(mY, r.y + options.top, r.y + r.height - options.bottom);
 			} else if ((mY > (r.y + r.height - options.bottom)) && (mX > r.x + options.left) && (mX < (r.x + r.width - options.right))) {
-				int x = e.getX();
-				bottomHilitePos = x;
-				updateRect.setBounds(mX - gap, r.y + r.height - options.top, mX + gap, r.y + r.height);
-				component.repaint(mX - gap, r.y + r.height - options.top, mX + gap, r.y + r.height);
-				topHilitePos = -1;
-				leftHilitePos = -1;
-				rightHilitePos = -1;
+				edge = BOTTOM_EDGE;
+				hair = hairIndex(mX, r.x + options.left, r.x + r.width - options.right);
 			} else if ((mX > (r.x + r.width - options.right)) && (mY > r.y + options.top) && (mY < r.y + r.height - options.bottom)) {
-				int y = e.getY();
-				rightHilitePos = y;
-				updateRect.setBounds(r.x + r.width - options.right, mY - gap, r.x + r.width, mY + gap);
-				component.repaint(r.x + r.width - options.right, mY - gap, r.x + r.width, mY + gap);
-				topHilitePos = -1;
-				leftHilitePos = -1;
-				bottomHilitePos = -1;
-			} else {
-				topHilitePos = -1;
-				leftHilitePos = -1;
-				bottomHilitePos = -1;
-				rightHilitePos = -1;
+				edge = RIGHT_EDGE;
+				hair = hairIndex(mY, r.y + options.top, r.y + r.height - options.bottom);
 			}
+
+			if ((edge == hiliteEdge) && (hair == hiliteHair)) {
+				return;
+			}
+
+			repaintHair(component, r, hiliteEdge, hiliteHair);
+			hiliteEdge = edge;
+			hiliteHair = hair;
+			repaintHair(component, r, hiliteEdge, hiliteHair);
 		}
 	}
 }
@@ -28,6 +28,9 @@ import java.awt.Stroke;
 
 import javax.swing.border.AbstractBorder;
 
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
 public class MultilineBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = -392939532187744632L;
@@ -65,7 +68,15 @@ public class MultilineBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			doPaintBorder(c, g, x, y, width, height);
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
 
+	private void doPaintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
 		Graphics2D g2d = (Graphics2D) g;
 		Color saveColor = g.getColor();
 		Stroke saveStroke = g2d.getStroke();
@@ -75,12 +86,19 @@ public class MultilineBorder extends AbstractBorder {
 			g2d.setStroke(stroke);
 
 			Rectangle r = c.getBounds();
+			Rectangle clip = g.getClipBounds();
 			r.width -= options.lineSize;
 			r.height -= options.lineSize;
 
 			int shrinkSize = (options.lineSize + options.gapSize);
+			int slack = options.lineSize + 1;
 			for (int i = 0; i < options.numLines; i++) {
-				g.drawRect(r.x, r.y, r.width, r.height);
+				r.grow(slack, slack);
+				boolean visible = GraphicsUtils.intersectsFrame(clip, r, 2 * slack, 2 * slack, 2 * slack, 2 * slack);
+				r.grow(-slack, -slack);
+				if (visible) {
+					g.drawRect(r.x, r.y, r.width, r.height);
+				}
 				r.x += shrinkSize;
 				r.y += shrinkSize;
 				r.width -= 2 * shrinkSize;
@@ -25,29 +25,53 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.geom.Path2D;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.border.AbstractBorder;
 
 import com.mebigfatguy.borders4j.bezier.BezierRenderer;
+import com.mebigfatguy.borders4j.cache.BorderRenderer;
+import com.mebigfatguy.borders4j.cache.CachedBorderPainter;
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
 
 public class ScrollBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = -8665334503831307882L;
     private final Options options;
 	private final Stroke stroke;
-	private Rectangle cacheBounds;
-	private final List<float[][]> bezierPts = new ArrayList<float[][]>();
+	private final CachedBorderPainter painter;
+	private final Map<Component, Geometry> geometries = Collections.synchronizedMap(new WeakHashMap<Component, Geometry>());
+	private final ThreadLocal<Geometry> renderGeometries = new ThreadLocal<Geometry>() {
+		@Override
+		protected Geometry initialValue() {
+			return new Geometry();
+		}
+	};
 
 	public ScrollBorder() {
 		this(new Options());
 	}
 
 	public ScrollBorder(Options options) {
-		this.options = options;
-		stroke = new BasicStroke(options.lineWidth);
+		this.options = options.copy();
+		stroke = new BasicStroke(this.options.lineWidth);
+		painter = new CachedBorderPainter(getClass(), this.options.fingerprint(), new BorderRenderer() {
+			@Override
+			public void render(Graphics g, Rectangle r, int frame) {
+				renderBorder(g, r, renderGeometries.get());
+			}
+		});
+		painter.setAsync(this.options.asyncRendering);
+		painter.setAccelerated(this.options.acceleratedRendering);
 	}
 
 	@Override
@@ -67,52 +91,66 @@ public class ScrollBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
-
-		Graphics2D g2d = (Graphics2D) g;
-		Color saveColor = g.getColor();
-		Stroke saveStroke = g2d.getStroke();
-		RenderingHints saveHints = g2d.getRenderingHints();
+		long paintStart = BorderMetrics.startPaint();
 		try {
 			Rectangle r = c.getBounds();
-
-			if ((cacheBounds == null) || !r.equals(cacheBounds)) {
-				recalculateBezierPts(r);
-				cacheBounds = (Rectangle)r.clone();
+			// arrow lines reach a line width past the insets, and the stroke and its caps reach further still
+			int slack = 2 * options.lineWidth + (options.lineWidth + 1) / 2 + 1;
+			if (!GraphicsUtils.intersectsFrame(g.getClipBounds(), r, options.top + slack, options.left + slack, options.bottom + slack, options.right + slack)) {
+				return;
 			}
 
-			g.setColor(options.color);
-			g2d.setStroke(stroke);
-			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-			for (float[][] pts : bezierPts) {
-				BezierRenderer.draw(g, pts);
+			if (options.cached) {
+				if (!painter.paint(c, g, r)) {
+					GraphicsUtils.drawPlaceholder(g, r, options.top, options.left, options.bottom, options.right, options.color);
+				}
+			} else {
+				renderBorder(g, r, geometryFor(c));
 			}
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
 
-			if (options.top > 0) {
-				int midx = r.x + r.width / 2;
-  				g.drawLine(midx - 10, r.y + options.top - options.lineWidth, midx, r.y + options.lineWidth);
-  				g.drawLine(midx, r.y + options.top - options.lineWidth, midx + 10, r.y + options.lineWidth);
-			}
+	private Geometry geometryFor(Component c) {
+		Geometry geometry = geometries.get(c);
+		if (geometry == null) {
+			geometry = new Geometry();
+			geometries.put(c, geometry);
+		}
 
-			if (options.left > 0) {
-				int midy = r.y + r.height / 2;
-  				g.drawLine(r.x + options.lineWidth, midy - 10, r.x + options.left - options.lineWidth, midy);
-  				g.drawLine(r.x + options.lineWidth, midy, r.x + options.left - options.lineWidth, midy + 10);
-			}
+		return geometry;
+	}
 
-			if (options.bottom > 0) {
-				int midx = r.x + r.width / 2;
-  				g.drawLine(midx - 10, r.y + r.height - options.lineWidth, midx, r.y + r.height - options.bottom + options.lineWidth);
-  				g.drawLine(midx, r.y + r.height - options.lineWidth, midx + 10, r.y + r.height - options.bottom + options.lineWidth);
+	private void renderBorder(Graphics g, Rectangle r, Geometry geometry) {
 
-			}
+		Graphics2D g2d = (Graphics2D) g;
+		Color saveColor = g.getColor();
+		Stroke saveStroke = g2d.getStroke();
+		RenderingHints saveHints = g2d.getRenderingHints();
 
-			if (options.right > 0) {
-				int midy = r.y + r.height / 2;
-  				g.drawLine(r.x + r.width - options.right - options.lineWidth, midy - 10, r.x + r.width - options.lineWidth, midy);
-  				g.drawLine(r.x + r.width - options.right - options.lineWidth, midy, r.x + r.width - options.lineWidth, midy + 10);
+		try {
+			if (geometry.top.length != r.width) {
+				recalculateTopEdge(geometry.top, r.width);
+			}
+			if (geometry.left.length != r.height) {
+				recalculateLeftEdge(geometry.left, r.height);
+			}
+			if (geometry.bottom.length != r.width) {
+				recalculateBottomEdge(geometry.bottom, r.width);
+			}
+			if (geometry.right.length != r.height) {
+				recalculateRightEdge(geometry.right, r.height);
 			}
 
+			g.setColor(options.color);
+			g2d.setStroke(stroke);
+			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+			paintEdge(g2d, geometry.top, r.x, r.y);
+			paintEdge(g2d, geometry.left, r.x, r.y);
+			paintEdge(g2d, geometry.bottom, r.x, r.y + r.height);
+			paintEdge(g2d, geometry.right, r.x + r.width, r.y);
 		} finally {
 			g.setColor(saveColor);
 			g2d.setStroke(saveStroke);
@@ -120,137 +158,234 @@ public class ScrollBorder extends AbstractBorder {
 		}
 	}
 
-	private void recalculateBezierPts(Rectangle r) {
-		bezierPts.clear();
+	private void paintEdge(Graphics2D g2d, Edge edge, int dx, int dy) {
+		if (edge.bezierPts.isEmpty()) {
+			return;
+		}
+
+		g2d.translate(dx, dy);
+		try {
+			if (options.pathRendering) {
+				if (edge.outline == null) {
+					Path2D path = BezierRenderer.createPath(edge.bezierPts);
+					for (int[] line : edge.arrowLines) {
+						path.moveTo(line[0], line[1]);
+						path.lineTo(line[2], line[3]);
+					}
+					edge.outline = stroke.createStrokedShape(path);
+				}
+				g2d.fill(edge.outline);
+			} else {
+				BezierRenderer.draw(g2d, edge.bezierPts);
+
+				int slack = options.lineWidth;
+				Rectangle clip = g2d.getClipBounds();
+				for (int[] line : edge.arrowLines) {
+					int lx = Math.min(line[0], line[2]) - slack;
+					int ly = Math.min(line[1], line[3]) - slack;
+					if (GraphicsUtils.intersects(clip, lx, ly, Math.abs(line[2] - line[0]) + 2 * slack + 1, Math.abs(line[3] - line[1]) + 2 * slack + 1)) {
+						g2d.drawLine(line[0], line[1], line[2], line[3]);
+					}
+				}
+			}
+		} finally {
+			g2d.translate(-dx, -dy);
+		}
+	}
+
+	private void recalculateTopEdge(Edge edge, int width) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(width);
 
 		if (options.top > 0) {
 
-			float lx = r.x + (r.width / 5.0f);
-			float rx = r.x + ((r.width * 4) / 5.0f);
+			float lx = width / 5.0f;
+			float rx = (width * 4) / 5.0f;
 
 			float[][] pts = new float[][]
 			{
-				{lx, r.y + options.top - options.lineWidth},
-				{lx - 10, r.y + options.top - options.lineWidth},
-				{lx - 10, r.y + 1},
-				{lx, r.y + 1}
+				{lx, options.top - options.lineWidth},
+				{lx - 10, options.top - options.lineWidth},
+				{lx - 10, 1},
+				{lx, 1}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{lx, r.y + 1},
-				{lx + 30, r.y + 1},
-				{rx - 30, r.y + options.top - options.lineWidth},
-				{rx, r.y + options.top - options.lineWidth}
+				{lx, 1},
+				{lx + 30, 1},
+				{rx - 30, options.top - options.lineWidth},
+				{rx, options.top - options.lineWidth}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{rx, r.y + options.top - options.lineWidth},
-				{rx + 10, r.y + options.top - options.lineWidth},
-				{rx + 10, r.y + 1},
-				{rx, r.y + 1}
+				{rx, options.top - options.lineWidth},
+				{rx + 10, options.top - options.lineWidth},
+				{rx + 10, 1},
+				{rx, 1}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
+
+			int midx = width / 2;
+			edge.arrowLines.add(new int[] { midx - 10, options.top - options.lineWidth, midx, options.lineWidth });
+			edge.arrowLines.add(new int[] { midx, options.top - options.lineWidth, midx + 10, options.lineWidth });
 		}
 
+		BorderMetrics.recalculated(getClass(), width, options.top, start);
+	}
+
+	private void recalculateLeftEdge(Edge edge, int height) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(height);
+
 		if (options.left > 0) {
-			float ty = r.y + (r.height / 5.0f);
-			float by = r.y + ((r.height * 4) / 5.0f);
+			float ty = height / 5.0f;
+			float by = (height * 4) / 5.0f;
 
 			float[][] pts = new float[][]
             {
-				{r.x + options.left - options.lineWidth, ty},
-				{r.x + options.left - options.lineWidth, ty - 10},
-				{r.x + options.lineWidth, ty - 10},
-				{r.x + options.lineWidth, ty}
+				{options.left - options.lineWidth, ty},
+				{options.left - options.lineWidth, ty - 10},
+				{options.lineWidth, ty - 10},
+				{options.lineWidth, ty}
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 		    {
-				{r.x + options.lineWidth, ty},
-				{r.x + options.lineWidth, ty + 30},
-				{r.x + options.left - options.lineWidth, by - 30},
-				{r.x + options.left - options.lineWidth, by}
+				{options.lineWidth, ty},
+				{options.lineWidth, ty + 30},
+				{options.left - options.lineWidth, by - 30},
+				{options.left - options.lineWidth, by}
 		    };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{r.x + options.left - options.lineWidth, by},
-				{r.x + options.left - options.lineWidth, by + 10},
-				{r.x + options.lineWidth, by + 10},
-					{r.x + options.lineWidth, by}
+				{options.left - options.lineWidth, by},
+				{options.left - options.lineWidth, by + 10},
+				{options.lineWidth, by + 10},
+					{options.lineWidth, by}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
+
+			int midy = height / 2;
+			edge.arrowLines.add(new int[] { options.lineWidth, midy - 10, options.left - options.lineWidth, midy });
+			edge.arrowLines.add(new int[] { options.lineWidth, midy, options.left - options.lineWidth, midy + 10 });
 		}
 
+		BorderMetrics.recalculated(getClass(), options.left, height, start);
+	}
+
+	private void recalculateBottomEdge(Edge edge, int width) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(width);
+
 		if (options.bottom > 0) {
 
-			float lx = r.x + (r.width / 5.0f);
-			float rx = r.x + ((r.width * 4) / 5.0f);
+			float lx = width / 5.0f;
+			float rx = (width * 4) / 5.0f;
 
 			float[][] pts = new float[][]
 			{
-				{lx, r.y + r.height - options.lineWidth},
-				{lx - 10, r.y + r.height - options.lineWidth},
-				{lx - 10, r.y + r.height - options.bottom + options.lineWidth},
-				{lx, r.y + r.height - options.bottom + options.lineWidth}
+				{lx, -options.lineWidth},
+				{lx - 10, -options.lineWidth},
+				{lx - 10, -options.bottom + options.lineWidth},
+				{lx, -options.bottom + options.lineWidth}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{lx, r.y + r.height - options.bottom + options.lineWidth},
-				{lx + 30, r.y + r.height - options.bottom + options.lineWidth},
-				{rx - 30, r.y + r.height - options.lineWidth},
-				{rx, r.y + r.height - options.lineWidth}
+				{lx, -options.bottom + options.lineWidth},
+				{lx + 30, -options.bottom + options.lineWidth},
+				{rx - 30, -options.lineWidth},
+				{rx, -options.lineWidth}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{rx, r.y + r.height - options.lineWidth},
-				{rx + 10, r.y + r.height - options.lineWidth},
-				{rx + 10, r.y + r.height - options.bottom + options.lineWidth},
-				{rx, r.y + r.height - options.bottom + options.lineWidth},
+				{rx, -options.lineWidth},
+				{rx + 10, -options.lineWidth},
+				{rx + 10, -options.bottom + options.lineWidth},
+				{rx, -options.bottom + options.lineWidth},
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
+
+			int midx = width / 2;
+			edge.arrowLines.add(new int[] { midx - 10, -options.lineWidth, midx, -options.bottom + options.lineWidth });
+			edge.arrowLines.add(new int[] { midx, -options.lineWidth, midx + 10, -options.bottom + options.lineWidth });
 		}
 
+		BorderMetrics.recalculated(getClass(), width, options.bottom, start);
+	}
+
+	private void recalculateRightEdge(Edge edge, int height) {
+		long start = BorderMetrics.startGeometry();
+		edge.reset(height);
+
 		if (options.right > 0) {
-			float ty = r.y + (r.height / 5.0f);
-			float by = r.y + ((r.height * 4) / 5.0f);
+			float ty = height / 5.0f;
+			float by = (height * 4) / 5.0f;
 
 			float[][] pts = new float[][]
             {
-				{r.x + r.width - options.right + options.lineWidth, ty},
-				{r.x + r.width - options.right + options.lineWidth, ty - 10},
-				{r.x + r.width - options.lineWidth, ty - 10},
-				{r.x + r.width - options.lineWidth, ty}
+				{-options.right + options.lineWidth, ty},
+				{-options.right + options.lineWidth, ty - 10},
+				{-options.lineWidth, ty - 10},
+				{-options.lineWidth, ty}
             };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 		    {
-				{r.x + r.width - options.lineWidth, ty},
-				{r.x + r.width - options.lineWidth, ty + 30},
-				{r.x + r.width - options.right + options.lineWidth, by - 30},
-				{r.x + r.width - options.right + options.lineWidth, by}
+				{-options.lineWidth, ty},
+				{-options.lineWidth, ty + 30},
+				{-options.right + options.lineWidth, by - 30},
+				{-options.right + options.lineWidth, by}
 		    };
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
 
 			pts = new float[][]
 			{
-				{r.x + r.width - options.right + options.lineWidth, by},
-				{r.x + r.width - options.right + options.lineWidth, by + 10},
-				{r.x + r.width - options.lineWidth, by + 10},
-				{r.x + r.width - options.lineWidth, by}
+				{-options.right + options.lineWidth, by},
+				{-options.right + options.lineWidth, by + 10},
+				{-options.lineWidth, by + 10},
+				{-options.lineWidth, by}
 			};
-			bezierPts.add(pts);
+			edge.bezierPts.add(pts);
+
+			int midy = height / 2;
+			edge.arrowLines.add(new int[] { -options.right - options.lineWidth, midy - 10, -options.lineWidth, midy });
+			edge.arrowLines.add(new int[] { -options.right - options.lineWidth, midy, -options.lineWidth, midy + 10 });
+		}
+
+		BorderMetrics.recalculated(getClass(), options.right, height, start);
+	}
+
+
+	private static class Geometry {
+		final Edge top = new Edge();
+		final Edge left = new Edge();
+		final Edge bottom = new Edge();
+		final Edge right = new Edge();
+	}
+
+	private static class Edge {
+		int length = -1;
+		Shape outline;
+		final List<float[][]> bezierPts = new ArrayList<float[][]>();
+		final List<int[]> arrowLines = new ArrayList<int[]>();
+
+		void reset(int length) {
+			this.length = length;
+			outline = null;
+			bezierPts.clear();
+			arrowLines.clear();
 		}
 	}
 
@@ -261,6 +396,10 @@ public class ScrollBorder extends AbstractBorder {
 		int right = 16;
 		Color color;
 		int lineWidth;
+		boolean cached = false;
+		boolean asyncRendering = false;
+		boolean acceleratedRendering = false;
+		boolean pathRendering = false;
 
 		public Options setTop(int top) {
 			this.top = top;
@@ -291,5 +430,44 @@ public class ScrollBorder extends AbstractBorder {
 			this.lineWidth = lineWidth;
 			return this;
 		}
+
+		public Options setCached(boolean cached) {
+			this.cached = cached;
+			return this;
+		}
+
+		public Options setAsyncRendering(boolean asyncRendering) {
+			this.asyncRendering = asyncRendering;
+			return this;
+		}
+
+		public Options setAcceleratedRendering(boolean acceleratedRendering) {
+			this.acceleratedRendering = acceleratedRendering;
+			return this;
+		}
+
+		public Options setPathRendering(boolean pathRendering) {
+			this.pathRendering = pathRendering;
+			return this;
+		}
+
+		Options copy() {
+			Options copy = new Options();
+			copy.top = top;
+			copy.left = left;
+			copy.bottom = bottom;
+			copy.right = right;
+			copy.color = color;
+			copy.lineWidth = lineWidth;
+			copy.cached = cached;
+			copy.asyncRendering = asyncRendering;
+			copy.acceleratedRendering = acceleratedRendering;
+			copy.pathRendering = pathRendering;
+			return copy;
+		}
+
+		Object fingerprint() {
+			return Arrays.<Object>asList(top, left, bottom, right, color, lineWidth, pathRendering);
+		}
 	}
 }
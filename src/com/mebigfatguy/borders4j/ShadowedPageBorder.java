@@ -23,12 +23,22 @@ import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Polygon;
 import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.border.AbstractBorder;
 
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
 public class ShadowedPageBorder extends AbstractBorder {
 
 	private static final long serialVersionUID = 7468389521544006247L;
+	private static final Map<Long, BufferedImage> shadows = Collections.synchronizedMap(new HashMap<Long, BufferedImage>());
+
     private final Options options;
 	private final int top;
 	private final int left;
@@ -41,10 +51,10 @@ public class ShadowedPageBorder extends AbstractBorder {
 
 	public ShadowedPageBorder(Options options) {
 		this.options = options;
-		top = (options.shadowYOffset < 0) ? -options.shadowYOffset : 0;
-		left = (options.shadowXOffset < 0) ? -options.shadowXOffset : 0;
-		bottom = (options.shadowYOffset > 0) ? options.shadowYOffset : 0;
-		right = (options.shadowXOffset > 0) ? options.shadowXOffset : 0;
+		top = Math.max(0, options.blurRadius - options.shadowYOffset);
+		left = Math.max(0, options.blurRadius - options.shadowXOffset);
+		bottom = Math.max(0, options.blurRadius + options.shadowYOffset);
+		right = Math.max(0, options.blurRadius + options.shadowXOffset);
 	}
 
 	@Override
@@ -64,27 +74,40 @@ public class ShadowedPageBorder extends AbstractBorder {
 
 	@Override
 	public void paintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
+		long paintStart = BorderMetrics.startPaint();
+		try {
+			doPaintBorder(c, g, x, y, width, height);
+		} finally {
+			BorderMetrics.paintFinished(getClass(), c, g, paintStart);
+		}
+	}
 
+	private void doPaintBorder(final Component c, Graphics g, int x, int y, int width, int height) {
 		Color saveColor = g.getColor();
 		try {
 			g.setColor(options.shadowColor);
 			Rectangle r = c.getBounds();
-			if (options.shadowXOffset < 0) {
-				 if (options.shadowYOffset < 0) {
-					 g.fillRect(r.x, r.y, r.width - left - 20, top);
-					 g.fillRect(r.x, r.y, left, r.height - top);
-				 } else {
-					 g.fillRect(r.x, r.y + bottom, left, r.height);
-					 g.fillRect(r.x, r.y + r.height - bottom, r.width - left, r.height);
-				 }
+			Rectangle clip = g.getClipBounds();
+			if (options.blurRadius > 0) {
+				paintSoftShadow(g, clip, r);
 			} else {
-				 if (options.shadowYOffset < 0) {
-					 g.fillRect(r.x + right, r.y, r.width, top);
-					 g.fillRect(r.x + r.width - right, r.y, r.width, r.height - top);
-				 } else {
-					 g.fillRect(r.x + r.width - right, r.y + bottom + 20, r.width, r.height);
-					 g.fillRect(r.x + right, r.y + r.height - bottom, r.width, r.height);
-				 }
+				if (options.shadowXOffset < 0) {
+					 if (options.shadowYOffset < 0) {
+						 fillShadow(g, clip, r.x, r.y, r.width - left - 20, top);
+						 fillShadow(g, clip, r.x, r.y, left, r.height - top);
+					 } else {
+						 fillShadow(g, clip, r.x, r.y + bottom, left, r.height);
+						 fillShadow(g, clip, r.x, r.y + r.height - bottom, r.width - left, r.height);
+					 }
+				} else {
+					 if (options.shadowYOffset < 0) {
+						 fillShadow(g, clip, r.x + right, r.y, r.width, top);
+						 fillShadow(g, clip, r.x + r.width - right, r.y, r.width, r.height - top);
+					 } else {
+						 fillShadow(g, clip, r.x + r.width - right, r.y + bottom + 20, r.width, r.height);
+						 fillShadow(g, clip, r.x + right, r.y + r.height - bottom, r.width, r.height);
+					 }
+				}
 			}
 
 			g.setColor(options.lineColor);
@@ -115,20 +138,145 @@ public class ShadowedPageBorder extends AbstractBorder {
 
 			Polygon poly = new Polygon(xpoints, ypoints, 6);
 
-			g.drawPolygon(poly);
-			g.drawLine(r.x + r.width - 20, r.y, r.x + r.width - 20, r.y + 20);
-			g.drawLine(r.x + r.width - 20, r.y + 20, r.x + r.width, r.y + 20);
+			boolean foldVisible = GraphicsUtils.intersects(clip, r.x + r.width - 21, r.y - 1, 22, 22);
+			r.grow(1, 1);
+			boolean outlineVisible = foldVisible || GraphicsUtils.intersectsFrame(clip, r, 2, 2, 2, 2);
+			r.grow(-1, -1);
+
+			if (outlineVisible) {
+				g.drawPolygon(poly);
+			}
+			if (foldVisible) {
+				g.drawLine(r.x + r.width - 20, r.y, r.x + r.width - 20, r.y + 20);
+				g.drawLine(r.x + r.width - 20, r.y + 20, r.x + r.width, r.y + 20);
+			}
 		} finally {
 			g.setColor(saveColor);
 		}
 	}
 
+	private void paintSoftShadow(Graphics g, Rectangle clip, Rectangle r) {
+		BufferedImage shadow = shadowFor(options.blurRadius, options.shadowColor);
+		int corner = 2 * options.blurRadius;
+		int shadowX = r.x + left + options.shadowXOffset - options.blurRadius;
+		int shadowY = r.y + top + options.shadowYOffset - options.blurRadius;
+		int shadowWidth = r.width - left - right + 2 * options.blurRadius;
+		int shadowHeight = r.height - top - bottom + 2 * options.blurRadius;
+
+		Shape saveClip = g.getClip();
+		try {
+			for (Rectangle band : GraphicsUtils.frameBands(r, top, left, bottom, right)) {
+				if (band.isEmpty() || !GraphicsUtils.intersects(clip, band.x, band.y, band.width, band.height)) {
+					continue;
+				}
+
+				g.setClip(saveClip);
+				g.clipRect(band.x, band.y, band.width, band.height);
+				drawNinePatch(g, band, shadow, corner, shadowX, shadowY, shadowWidth, shadowHeight);
+			}
+		} finally {
+			g.setClip(saveClip);
+		}
+	}
+
+	private static void drawNinePatch(Graphics g, Rectangle clip, BufferedImage image, int corner, int x, int y, int width, int height) {
+		int size = image.getWidth();
+		int cornerWidth = Math.min(corner, width / 2);
+		int cornerHeight = Math.min(corner, height / 2);
+
+		int[] dxs = { x, x + cornerWidth, x + width - cornerWidth, x + width };
+		int[] dys = { y, y + cornerHeight, y + height - cornerHeight, y + height };
+		int[] sxs = { 0, cornerWidth, size - cornerWidth, size };
+		int[] sys = { 0, cornerHeight, size - cornerHeight, size };
+
+		for (int j = 0; j < 3; j++) {
+			for (int i = 0; i < 3; i++) {
+				if ((dxs[i + 1] > dxs[i]) && (dys[j + 1] > dys[j]) && GraphicsUtils.intersects(clip, dxs[i], dys[j], dxs[i + 1] - dxs[i], dys[j + 1] - dys[j])) {
+					g.drawImage(image, dxs[i], dys[j], dxs[i + 1], dys[j + 1], sxs[i], sys[j], sxs[i + 1], sys[j + 1], null);
+				}
+			}
+		}
+	}
+
+	private static BufferedImage shadowFor(int radius, Color color) {
+		Long key = Long.valueOf(((long) radius << 32) | (color.getRGB() & 0xFFFFFFFFL));
+		BufferedImage shadow = shadows.get(key);
+		if (shadow == null) {
+			shadow = createShadow(radius, color);
+			shadows.put(key, shadow);
+		}
+
+		return shadow;
+	}
+
+	static BufferedImage createShadow(int radius, Color color) {
+		long start = BorderMetrics.startGeometry();
+
+		int size = 4 * radius + 1;
+		int[] alpha = new int[size * size];
+		int[] work = new int[size * size];
+		for (int y = radius; y < size - radius; y++) {
+			for (int x = radius; x < size - radius; x++) {
+				alpha[y * size + x] = 255;
+			}
+		}
+
+		for (int pass = 0; pass < 3; pass++) {
+			int passRadius = radius / 3 + ((pass < radius % 3) ? 1 : 0);
+			boxBlur(alpha, work, size, size, passRadius);
+			boxBlur(work, alpha, size, size, passRadius);
+		}
+
+		int rgb = color.getRGB() & 0x00FFFFFF;
+		int colorAlpha = color.getAlpha();
+		for (int i = 0; i < alpha.length; i++) {
+			alpha[i] = (((alpha[i] * colorAlpha + 127) / 255) << 24) | rgb;
+		}
+
+		BufferedImage shadow = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		shadow.setRGB(0, 0, size, size, alpha, 0, size);
+
+		BorderMetrics.recalculated(ShadowedPageBorder.class, size, size, start);
+		return shadow;
+	}
+
+	static void boxBlur(int[] src, int[] dst, int width, int height, int radius) {
+		int window = 2 * radius + 1;
+		for (int y = 0; y < height; y++) {
+			int row = y * width;
+			int sum = 0;
+			for (int x = 0; x <= radius && x < width; x++) {
+				sum += src[row + x];
+			}
+
+			for (int x = 0; x < width; x++) {
+				dst[x * height + y] = (sum + window / 2) / window;
+
+				int in = x + radius + 1;
+				int out = x - radius;
+				if (in < width) {
+					sum += src[row + in];
+				}
+				if (out >= 0) {
+					sum -= src[row + out];
+				}
+			}
+		}
+	}
+
+	private static void fillShadow(Graphics g, Rectangle clip, int x, int y, int width, int height) {
+		if (GraphicsUtils.intersects(clip, x, y, width, height)) {
+			g.fillRect(x, y, width, height);
+		}
+	}
+
 	public static class Options {
 
 		int shadowXOffset = 8;
 		int shadowYOffset = 8;
 		Color shadowColor = Color.LIGHT_GRAY;
 		Color lineColor = Color.BLACK;
+		int blurRadius = 0;
 
 		public Options setShadowXOffset(int shadowXOffset) {
 			this.shadowXOffset = shadowXOffset;
@@ -149,5 +297,10 @@ public class ShadowedPageBorder extends AbstractBorder {
 			this.lineColor = lineColor;
 			return this;
 		}
+
+		public Options setBlurRadius(int blurRadius) {
+			this.blurRadius = blurRadius;
+			return this;
+		}
 	}
 }
@@ -1,63 +1,216 @@
 package com.mebigfatguy.borders4j.bezier;
 
+import java.awt.BasicStroke;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.util.List;
+
+import com.mebigfatguy.borders4j.cache.BorderRenderCache;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
 
 public class BezierRenderer {
 
-	private static final float BEZ_LIMIT_SQ = 16.0f;
+	private static final int MAX_DEPTH = 24;
+	private static final int CURVE_SIZE = 8;
+
+	private static final ThreadLocal<FlatteningState> STATES = new ThreadLocal<FlatteningState>() {
+		@Override
+		protected FlatteningState initialValue() {
+			return new FlatteningState();
+		}
+	};
+
+	private static volatile Quality quality = Quality.NORMAL;
 
 	private BezierRenderer() {
 	}
 
+	public static Quality getQuality() {
+		return quality;
+	}
+
+	public static void setQuality(Quality quality) {
+		if (BezierRenderer.quality != quality) {
+			BezierRenderer.quality = quality;
+			BorderRenderCache.invalidateAll();
+		}
+	}
+
 	public static void draw(Graphics g, float[][] pts) {
+		FlatteningState fs = STATES.get();
+		fs.begin(g);
+
+		flatten(g, fs, pts, flatnessLimit(g));
+	}
+
+	public static void draw(Graphics g, List<float[][]> curves) {
+		FlatteningState fs = STATES.get();
+		fs.begin(g);
+
+		float limitSq = flatnessLimit(g);
+		Rectangle clip = g.getClipBounds();
+		float slack = strokeWidth(g) + 1.0f;
+		for (float[][] pts : curves) {
+			if ((clip == null) || intersects(clip, pts, slack)) {
+				flatten(g, fs, pts, limitSq);
+			}
+		}
+	}
+
+	private static float flatnessLimit(Graphics g) {
+		float segmentLength = (float) (quality.getSegmentLength() / GraphicsUtils.deviceScale(g));
+		return segmentLength * segmentLength;
+	}
+
+	private static boolean intersects(Rectangle clip, float[][] pts, float slack) {
+		float minX = pts[0][0];
+		float maxX = minX;
+		float minY = pts[0][1];
+		float maxY = minY;
+		for (int i = 1; i < 4; i++) {
+			minX = Math.min(minX, pts[i][0]);
+			maxX = Math.max(maxX, pts[i][0]);
+			minY = Math.min(minY, pts[i][1]);
+			maxY = Math.max(maxY, pts[i][1]);
+		}
+
+		return (minX - slack < clip.x + clip.width) && (clip.x < maxX + slack) && (minY - slack < clip.y + clip.height) && (clip.y < maxY + slack);
+	}
 
-		float xdiff = pts[0][0] - pts[3][0];
-		xdiff *= xdiff;
-		float ydiff = pts[0][1] - pts[3][1];
-		ydiff *= ydiff;
+	private static float strokeWidth(Graphics g) {
+		if (g instanceof Graphics2D) {
+			Stroke stroke = ((Graphics2D) g).getStroke();
+			if (stroke instanceof BasicStroke) {
+				return ((BasicStroke) stroke).getLineWidth();
+			}
+		}
 
-		if (xdiff + ydiff < BEZ_LIMIT_SQ) {
-			g.drawLine(Math.round(pts[0][0]), Math.round(pts[0][1]), Math.round(pts[3][0]), Math.round(pts[3][1]));
+		return 1.0f;
+	}
 
-		} else {
-			float[][] left = new float[4][2];
-			float[][] right = new float[4][2];
+	private static void flatten(Graphics g, FlatteningState fs, float[][] pts, float limitSq) {
 
-			subDivide(pts, left, right);
+		float[] stack = fs.coords;
+		int[] depths = fs.depths;
 
-			draw(g, left);
-			left = null;
-			draw(g, right);
-			right = null;
+		for (int i = 0; i < 4; i++) {
+			stack[i * 2] = pts[i][0];
+			stack[i * 2 + 1] = pts[i][1];
+		}
+		depths[0] = 0;
+
+		int top = 0;
+		while (top >= 0) {
+			int base = top * CURVE_SIZE;
+
+			float x0 = stack[base];
+			float y0 = stack[base + 1];
+			float x1 = stack[base + 2];
+			float y1 = stack[base + 3];
+			float x2 = stack[base + 4];
+			float y2 = stack[base + 5];
+			float x3 = stack[base + 6];
+			float y3 = stack[base + 7];
+
+			float xdiff = x0 - x3;
+			xdiff *= xdiff;
+			float ydiff = y0 - y3;
+			ydiff *= ydiff;
+
+			if ((xdiff + ydiff < limitSq) || (depths[top] >= MAX_DEPTH)) {
+				fs.drawSegment(g, x0, y0, x3, y3);
+				top--;
+			} else {
+				float leftX1 = (x0 + x1) / 2.0f;
+				float leftY1 = (y0 + y1) / 2.0f;
+				float rightX2 = (x3 + x2) / 2.0f;
+				float rightY2 = (y3 + y2) / 2.0f;
+				float centerX = (x1 + x2) / 2.0f;
+				float centerY = (y1 + y2) / 2.0f;
+				float leftX2 = (leftX1 + centerX) / 2.0f;
+				float leftY2 = (leftY1 + centerY) / 2.0f;
+				float rightX1 = (rightX2 + centerX) / 2.0f;
+				float rightY1 = (rightY2 + centerY) / 2.0f;
+				float midX = (leftX2 + rightX1) / 2.0f;
+				float midY = (leftY2 + rightY1) / 2.0f;
+
+				int depth = depths[top] + 1;
+
+				// right half replaces this curve, left half is pushed above it to be drawn first
+				stack[base] = midX;
+				stack[base + 1] = midY;
+				stack[base + 2] = rightX1;
+				stack[base + 3] = rightY1;
+				stack[base + 4] = rightX2;
+				stack[base + 5] = rightY2;
+				depths[top] = depth;
+
+				base += CURVE_SIZE;
+				stack[base] = x0;
+				stack[base + 1] = y0;
+				stack[base + 2] = leftX1;
+				stack[base + 3] = leftY1;
+				stack[base + 4] = leftX2;
+				stack[base + 5] = leftY2;
+				stack[base + 6] = midX;
+				stack[base + 7] = midY;
+				depths[++top] = depth;
+			}
 		}
 	}
 
-	private static void subDivide(float[][] src, float[][] left, float[][] right) {
-		left[0][0] = src[0][0];
-		left[0][1] = src[0][1];
+	public static Path2D createPath(List<float[][]> curves) {
+		Path2D path = new Path2D.Float(Path2D.WIND_NON_ZERO, curves.size() * 4);
+
+		float lastX = Float.NaN;
+		float lastY = Float.NaN;
+		for (float[][] pts : curves) {
+			if ((pts[0][0] != lastX) || (pts[0][1] != lastY)) {
+				path.moveTo(pts[0][0], pts[0][1]);
+			}
+			path.curveTo(pts[1][0], pts[1][1], pts[2][0], pts[2][1], pts[3][0], pts[3][1]);
+			lastX = pts[3][0];
+			lastY = pts[3][1];
+		}
 
-		left[1][0] = (src[0][0] + src[1][0]) / 2.0f;
-		left[1][1] = (src[0][1] + src[1][1]) / 2.0f;
+		return path;
+	}
 
-		right[3][0] = src[3][0];
-		right[3][1] = src[3][1];
+	public enum Quality {
+		LOW(8.0f), NORMAL(4.0f), HIGH(1.0f);
 
-		right[2][0] = (src[3][0] + src[2][0]) / 2.0f;
-		right[2][1] = (src[3][1] + src[2][1]) / 2.0f;
+		private final float segmentLength;
 
-		float centerX = (src[1][0] + src[2][0]) / 2.0f;
-		float centerY = (src[1][1] + src[2][1]) / 2.0f;
+		Quality(float segmentLength) {
+			this.segmentLength = segmentLength;
+		}
 
-		left[2][0] = (left[1][0] + centerX) / 2.0f;
-		left[2][1] = (left[1][1] + centerY) / 2.0f;
+		public float getSegmentLength() {
+			return segmentLength;
+		}
+	}
 
-		right[1][0] = (right[2][0] + centerX) / 2.0f;
-		right[1][1] = (right[2][1] + centerY) / 2.0f;
+	private static final class FlatteningState {
+		final float[] coords = new float[(MAX_DEPTH + 1) * CURVE_SIZE];
+		final int[] depths = new int[MAX_DEPTH + 1];
+		final Line2D.Float line = new Line2D.Float();
+		boolean subpixel;
 
-		left[3][0] = (left[2][0] + right[1][0]) / 2.0f;
-		left[3][1] = (left[2][1] + right[1][1]) / 2.0f;
+		void begin(Graphics g) {
+			subpixel = (g instanceof Graphics2D) && (GraphicsUtils.deviceScale(g) > 1.0);
+		}
 
-		right[0][0] = left[3][0];
-		right[0][1] = left[3][1];
+		void drawSegment(Graphics g, float x0, float y0, float x1, float y1) {
+			if (subpixel) {
+				line.setLine(x0, y0, x1, y1);
+				((Graphics2D) g).draw(line);
+			} else {
+				g.drawLine(Math.round(x0), Math.round(y0), Math.round(x1), Math.round(y1));
+			}
+		}
 	}
 }
@@ -0,0 +1,233 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+public class BorderRenderCache extends TileCache<BufferedImage> {
+
+	public static final long DEFAULT_BUDGET = 32L * 1024L * 1024L;
+
+	private static final BorderRenderCache INSTANCE = new BorderRenderCache(DEFAULT_BUDGET);
+
+	private static volatile int generation;
+
+	private final Map<Key, FutureTask<BufferedImage>> pending = new HashMap<Key, FutureTask<BufferedImage>>();
+
+	public BorderRenderCache(long budget) {
+		super(budget);
+	}
+
+	public static BorderRenderCache getInstance() {
+		return INSTANCE;
+	}
+
+	public static void invalidateAll() {
+		synchronized (BorderRenderCache.class) {
+			generation++;
+		}
+		INSTANCE.clear();
+		VolatileImageCache.getInstance().clear();
+	}
+
+	public BufferedImage get(final Key key, final Filler filler) {
+
+		FutureTask<BufferedImage> task;
+		boolean owner = false;
+
+		synchronized (this) {
+			BufferedImage image = lookup(key);
+			if (image != null) {
+				return image;
+			}
+
+			task = pending.get(key);
+			if (task == null) {
+				task = new FutureTask<BufferedImage>(new Callable<BufferedImage>() {
+					@Override
+					public BufferedImage call() {
+						return filler.fill(key);
+					}
+				});
+				pending.put(key, task);
+				owner = true;
+			}
+		}
+
+		if (owner) {
+			try {
+				task.run();
+			} finally {
+				synchronized (this) {
+					pending.remove(key);
+					if (task.isDone() && !task.isCancelled()) {
+						BufferedImage image = resultOf(task);
+						if (image != null) {
+							store(key, image);
+						}
+					}
+				}
+			}
+		}
+
+		return waitFor(task);
+	}
+
+	private static BufferedImage resultOf(FutureTask<BufferedImage> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			return null;
+		}
+	}
+
+	private static BufferedImage waitFor(FutureTask<BufferedImage> task) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException("Failed rendering border", cause);
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	long sizeOf(BufferedImage image) {
+		return sizeOf(image.getWidth(), image.getHeight());
+	}
+
+	public interface Filler {
+
+		BufferedImage fill(Key key);
+	}
+
+	public static final class Key {
+		private final Class<?> borderClass;
+		private final Object fingerprint;
+		private final int frame;
+		private final int width;
+		private final int height;
+		private final double scale;
+		private final String device;
+		private final int generation;
+
+		public Key(Class<?> borderClass, Object fingerprint, int width, int height, double scale) {
+			this(borderClass, fingerprint, 0, width, height, scale);
+		}
+
+		public Key(Class<?> borderClass, Object fingerprint, int frame, int width, int height, double scale) {
+			this(borderClass, fingerprint, frame, width, height, scale, "");
+		}
+
+		public Key(Class<?> borderClass, Object fingerprint, int frame, int width, int height, double scale, String device) {
+			this.borderClass = borderClass;
+			this.fingerprint = fingerprint;
+			this.frame = frame;
+			this.width = width;
+			this.height = height;
+			this.scale = scale;
+			this.device = device;
+			generation = BorderRenderCache.generation;
+		}
+
+		public Class<?> getBorderClass() {
+			return borderClass;
+		}
+
+		public Object getFingerprint() {
+			return fingerprint;
+		}
+
+		public int getFrame() {
+			return frame;
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		public int getHeight() {
+			return height;
+		}
+
+		public double getScale() {
+			return scale;
+		}
+
+		public String getDevice() {
+			return device;
+		}
+
+		public boolean isCurrent() {
+			return generation == BorderRenderCache.generation;
+		}
+
+		public boolean matches(int w, int h, double s) {
+			return (width == w) && (height == h) && (Double.compare(scale, s) == 0);
+		}
+
+		public boolean matches(int w, int h, double s, String d) {
+			return matches(w, h, s) && device.equals(d);
+		}
+
+		@Override
+		public int hashCode() {
+			long bits = Double.doubleToLongBits(scale);
+			return borderClass.hashCode() ^ fingerprint.hashCode() ^ (frame * 7919) ^ (width * 31 + height) ^ (int) (bits ^ (bits >>> 32)) ^ device.hashCode() ^ generation;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) o;
+			return (borderClass == that.borderClass) && (frame == that.frame) && (generation == that.generation) && matches(that.width, that.height, that.scale, that.device) && fingerprint.equals(that.fingerprint);
+		}
+
+		@Override
+		public String toString() {
+			return borderClass.getSimpleName() + fingerprint + "[" + frame + ":" + width + "x" + height + "@" + scale + "/" + device + "]";
+		}
+	}
+}
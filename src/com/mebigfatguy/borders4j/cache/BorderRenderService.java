@@ -0,0 +1,132 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.Component;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.SwingUtilities;
+
+public class BorderRenderService {
+
+	private static final BorderRenderService INSTANCE = new BorderRenderService();
+
+	private final ForkJoinPool pool;
+	private final Map<BorderRenderCache.Key, List<Waiter>> waiting = new HashMap<BorderRenderCache.Key, List<Waiter>>();
+
+	private BorderRenderService() {
+		pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+	}
+
+	public static BorderRenderService getInstance() {
+		return INSTANCE;
+	}
+
+	public void render(Component c, BorderRenderCache.Key key, BorderRenderCache.Filler filler) {
+		render(c, key, filler, null);
+	}
+
+	public void render(Component c, final BorderRenderCache.Key key, final BorderRenderCache.Filler filler, Listener listener) {
+		Waiter waiter = new Waiter(c, listener);
+		synchronized (waiting) {
+			List<Waiter> waiters = waiting.get(key);
+			if (waiters != null) {
+				if (!waiters.contains(waiter)) {
+					waiters.add(waiter);
+				}
+				return;
+			}
+
+			waiters = new ArrayList<Waiter>(1);
+			waiters.add(waiter);
+			waiting.put(key, waiters);
+		}
+
+		pool.execute(new Runnable() {
+			@Override
+			public void run() {
+				BufferedImage image = null;
+				try {
+					image = BorderRenderCache.getInstance().get(key, filler);
+				} finally {
+					finished(key, image);
+				}
+			}
+		});
+	}
+
+	private void finished(final BorderRenderCache.Key key, final BufferedImage image) {
+		final List<Waiter> waiters;
+		synchronized (waiting) {
+			waiters = waiting.remove(key);
+		}
+
+		if ((image == null) || (waiters == null)) {
+			return;
+		}
+
+		final boolean cached = BorderRenderCache.getInstance().contains(key);
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				for (Waiter waiter : waiters) {
+					if (waiter.listener != null) {
+						waiter.listener.rendered(waiter.component, key, image);
+					} else if (cached) {
+						waiter.component.repaint();
+					}
+				}
+			}
+		});
+	}
+
+	public interface Listener {
+
+		void rendered(Component c, BorderRenderCache.Key key, BufferedImage image);
+	}
+
+	private static final class Waiter {
+		final Component component;
+		final Listener listener;
+
+		Waiter(Component component, Listener listener) {
+			this.component = component;
+			this.listener = listener;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(component) ^ System.identityHashCode(listener);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Waiter)) {
+				return false;
+			}
+
+			Waiter that = (Waiter) o;
+			return (component == that.component) && (listener == that.listener);
+		}
+	}
+}
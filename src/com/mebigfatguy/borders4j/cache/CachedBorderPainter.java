@@ -0,0 +1,350 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.Window;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.SwingUtilities;
+
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.timer.BorderAnimator;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
+public class CachedBorderPainter {
+
+	public static final int RESIZE_DEBOUNCE = 150;
+
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private static final int RESTORE_ATTEMPTS = 3;
+
+	private final Class<?> borderClass;
+	private final Object fingerprint;
+	private final BorderRenderer renderer;
+	private final BorderRenderCache.Filler filler;
+	private final BorderRenderCache.Key[] keys;
+	private final Map<Component, Resize> resizes = new WeakHashMap<Component, Resize>();
+	private final BorderRenderService.Listener listener = new BorderRenderService.Listener() {
+		@Override
+		public void rendered(Component c, BorderRenderCache.Key key, BufferedImage image) {
+			Resize resize = resizes.get(c);
+			if (resize != null) {
+				resize.key = key;
+				resize.image = image;
+				resize.tile = image;
+				resize.frame = key.getFrame();
+				resize.scale = key.getScale();
+			}
+			c.repaint();
+		}
+	};
+	private volatile Device device;
+	private boolean async;
+	private boolean accelerated;
+
+	public CachedBorderPainter(Class<?> borderClass, Object fingerprint, BorderRenderer renderer) {
+		this(borderClass, fingerprint, 1, renderer);
+	}
+
+	public CachedBorderPainter(Class<?> borderClass, Object fingerprint, int frames, final BorderRenderer renderer) {
+		this.borderClass = borderClass;
+		this.fingerprint = fingerprint;
+		this.renderer = renderer;
+		keys = new BorderRenderCache.Key[frames];
+		filler = new BorderRenderCache.Filler() {
+			@Override
+			public BufferedImage fill(BorderRenderCache.Key k) {
+				long start = BorderMetrics.startCacheFill();
+				BufferedImage image = render(renderer, k.getWidth(), k.getHeight(), k.getScale(), k.getFrame());
+				BorderMetrics.cacheFilled(k.getBorderClass(), k.getWidth(), k.getHeight(), start);
+				return image;
+			}
+		};
+	}
+
+	public boolean isAsync() {
+		return async;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	public boolean isAccelerated() {
+		return accelerated;
+	}
+
+	public void setAccelerated(boolean accelerated) {
+		this.accelerated = accelerated;
+	}
+
+	public boolean paint(Graphics g, Rectangle r) {
+		return paint(null, g, r, 0);
+	}
+
+	public boolean paint(Graphics g, Rectangle r, int frame) {
+		return paint(null, g, r, frame);
+	}
+
+	public boolean paint(Component c, Graphics g, Rectangle r) {
+		return paint(c, g, r, 0);
+	}
+
+	public boolean paint(Component c, Graphics g, Rectangle r, int frame) {
+
+		if ((r.width <= 0) || (r.height <= 0)) {
+			return true;
+		}
+
+		double scale = GraphicsUtils.deviceScale(g);
+		String deviceId = deviceId(g);
+		BorderRenderCache.Key key = keys[frame];
+		if ((key == null) || !key.matches(r.width, r.height, scale, deviceId) || !key.isCurrent()) {
+			key = new BorderRenderCache.Key(borderClass, fingerprint, frame, r.width, r.height, scale, deviceId);
+			keys[frame] = key;
+		}
+
+		BorderRenderCache cache = BorderRenderCache.getInstance();
+		GraphicsConfiguration config = (accelerated && !async) ? acceleratedConfiguration(g) : null;
+		Resize resize = null;
+		if ((c != null) && SwingUtilities.isEventDispatchThread()) {
+			resize = resizes.get(c);
+			if (resize == null) {
+				resize = new Resize();
+				resizes.put(c, resize);
+				DeviceTracker.getInstance().track(c, this);
+			}
+
+			long now = System.nanoTime();
+			if ((resize.width != r.width) || (resize.height != r.height)) {
+				resize.width = r.width;
+				resize.height = r.height;
+				resize.changed = now;
+			}
+
+			boolean cached = (config != null) ? VolatileImageCache.getInstance().contains(key) : cache.contains(key);
+			if (!cached) {
+				if (key.equals(resize.key)) {
+					BorderMetrics.cacheLookup(borderClass);
+					drawTile(g, resize.image, r);
+					return true;
+				}
+
+				if ((resize.tile != null) && (resize.frame == frame) && (resize.scale == scale) && ((now - resize.changed) < (RESIZE_DEBOUNCE * NANOS_PER_MILLI))
+						&& !((resize.tile instanceof VolatileImage) && ((VolatileImage) resize.tile).contentsLost())) {
+					g.drawImage(resize.tile, r.x, r.y, r.width, r.height, null);
+					BorderAnimator.getInstance().repaintLater(c, RESIZE_DEBOUNCE);
+					return true;
+				}
+
+				if (async) {
+					BorderMetrics.cacheLookup(borderClass);
+					BorderRenderService.getInstance().render(c, key, filler, listener);
+					return false;
+				}
+			}
+		}
+
+		BorderMetrics.cacheLookup(borderClass);
+		if (config != null) {
+			VolatileImage tile = paintAccelerated(g, r, key, config);
+			if (tile != null) {
+				if (resize != null) {
+					resize.tile = tile;
+					resize.frame = frame;
+					resize.scale = scale;
+				}
+				return true;
+			}
+		}
+
+		BufferedImage image = cache.get(key, filler);
+		if (resize != null) {
+			resize.key = key;
+			resize.image = image;
+			resize.tile = image;
+			resize.frame = frame;
+			resize.scale = scale;
+		}
+
+		drawTile(g, image, r);
+		return true;
+	}
+
+	private VolatileImage paintAccelerated(Graphics g, Rectangle r, BorderRenderCache.Key key, GraphicsConfiguration config) {
+		VolatileImageCache cache = VolatileImageCache.getInstance();
+		int imageWidth = imageSize(key.getWidth(), key.getScale());
+		int imageHeight = imageSize(key.getHeight(), key.getScale());
+		if (!cache.fits(imageWidth, imageHeight)) {
+			return null;
+		}
+
+		VolatileImage image = cache.get(key);
+		for (int attempt = 0; attempt < RESTORE_ATTEMPTS; attempt++) {
+			int status = (image == null) ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(config);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				image = config.createCompatibleVolatileImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+				if (!cache.put(key, image)) {
+					image.flush();
+					return null;
+				}
+				status = VolatileImage.IMAGE_RESTORED;
+			}
+
+			if (status == VolatileImage.IMAGE_RESTORED) {
+				long start = BorderMetrics.startCacheFill();
+				Graphics2D ig = image.createGraphics();
+				try {
+					ig.setComposite(AlphaComposite.Clear);
+					ig.fillRect(0, 0, image.getWidth(), image.getHeight());
+					ig.setComposite(AlphaComposite.SrcOver);
+					render(ig, renderer, key.getWidth(), key.getHeight(), image.getWidth(), image.getHeight(), key.getFrame());
+				} finally {
+					ig.dispose();
+				}
+				BorderMetrics.cacheFilled(borderClass, key.getWidth(), key.getHeight(), start);
+			}
+
+			drawTile(g, image, r);
+			if (!image.contentsLost()) {
+				return image;
+			}
+		}
+
+		return null;
+	}
+
+	private static GraphicsConfiguration acceleratedConfiguration(Graphics g) {
+		if (GraphicsEnvironment.isHeadless() || !(g instanceof Graphics2D)) {
+			return null;
+		}
+
+		GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
+		if ((config == null) || (config.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) || !config.getImageCapabilities().isAccelerated()) {
+			return null;
+		}
+
+		return config;
+	}
+
+	private static void drawTile(Graphics g, Image image, Rectangle r) {
+		if ((image.getWidth(null) == r.width) && (image.getHeight(null) == r.height)) {
+			g.drawImage(image, r.x, r.y, null);
+		} else {
+			g.drawImage(image, r.x, r.y, r.width, r.height, null);
+		}
+	}
+
+	void prerender(Window window, GraphicsConfiguration config) {
+		if (accelerated && !async) {
+			return;
+		}
+
+		double scale = GraphicsUtils.deviceScale(config.getDefaultTransform());
+		String deviceId = DeviceTracker.deviceId(config);
+		BorderRenderCache cache = BorderRenderCache.getInstance();
+
+		for (Map.Entry<Component, Resize> entry : resizes.entrySet()) {
+			Component c = entry.getKey();
+			Resize resize = entry.getValue();
+			if ((c == null) || (resize.width <= 0) || (resize.height <= 0) || (SwingUtilities.getWindowAncestor(c) != window)) {
+				continue;
+			}
+
+			BorderRenderCache.Key key = new BorderRenderCache.Key(borderClass, fingerprint, resize.frame, resize.width, resize.height, scale, deviceId);
+			if (!cache.contains(key)) {
+				BorderRenderService.getInstance().render(c, key, filler);
+			}
+		}
+	}
+
+	private String deviceId(Graphics g) {
+		if (!(g instanceof Graphics2D)) {
+			return "";
+		}
+
+		GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
+		Device d = device;
+		if ((d == null) || (d.config != config)) {
+			d = new Device(config, DeviceTracker.deviceId(config));
+			device = d;
+		}
+
+		return d.id;
+	}
+
+	private static BufferedImage render(BorderRenderer renderer, int width, int height, double scale, int frame) {
+		int imageWidth = imageSize(width, scale);
+		int imageHeight = imageSize(height, scale);
+		BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+
+		Graphics2D ig = image.createGraphics();
+		try {
+			render(ig, renderer, width, height, imageWidth, imageHeight, frame);
+		} finally {
+			ig.dispose();
+		}
+
+		return image;
+	}
+
+	private static void render(Graphics2D ig, BorderRenderer renderer, int width, int height, int imageWidth, int imageHeight, int frame) {
+		if ((imageWidth != width) || (imageHeight != height)) {
+			ig.scale(imageWidth / (double) width, imageHeight / (double) height);
+		}
+		renderer.render(ig, new Rectangle(0, 0, width, height), frame);
+	}
+
+	private static int imageSize(int size, double scale) {
+		return (int) Math.ceil(size * scale);
+	}
+
+	private static final class Device {
+		final GraphicsConfiguration config;
+		final String id;
+
+		Device(GraphicsConfiguration config, String id) {
+			this.config = config;
+			this.id = id;
+		}
+	}
+
+	private static final class Resize {
+		int width;
+		int height;
+		long changed;
+		BorderRenderCache.Key key;
+		BufferedImage image;
+		Image tile;
+		int frame;
+		double scale;
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.Component;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.swing.SwingUtilities;
+
+final class DeviceTracker {
+
+	private static final DeviceTracker INSTANCE = new DeviceTracker();
+
+	private final Map<Window, MoveListener> windows = new WeakHashMap<Window, MoveListener>();
+	private final Set<String> devices = new HashSet<String>();
+
+	private DeviceTracker() {
+	}
+
+	static DeviceTracker getInstance() {
+		return INSTANCE;
+	}
+
+	static String deviceId(GraphicsConfiguration config) {
+		return (config == null) ? "" : config.getDevice().getIDstring();
+	}
+
+	void track(Component c, CachedBorderPainter painter) {
+		Window window = SwingUtilities.getWindowAncestor(c);
+		if (window == null) {
+			return;
+		}
+
+		MoveListener listener = windows.get(window);
+		if (listener == null) {
+			listener = new MoveListener();
+			windows.put(window, listener);
+			window.addComponentListener(listener);
+			checkDevices();
+		}
+
+		listener.painters.put(painter, Boolean.TRUE);
+	}
+
+	private void checkDevices() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return;
+		}
+
+		Set<String> current = new HashSet<String>();
+		for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+			current.add(device.getIDstring());
+		}
+
+		for (String device : devices) {
+			if (!current.contains(device)) {
+				BorderRenderCache.getInstance().removeDevice(device);
+				VolatileImageCache.getInstance().removeDevice(device);
+			}
+		}
+
+		devices.clear();
+		devices.addAll(current);
+	}
+
+	private static GraphicsConfiguration configurationAt(Rectangle bounds) {
+		int x = bounds.x + bounds.width / 2;
+		int y = bounds.y + bounds.height / 2;
+		for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+			GraphicsConfiguration config = device.getDefaultConfiguration();
+			if (config.getBounds().contains(x, y)) {
+				return config;
+			}
+		}
+
+		return null;
+	}
+
+	private final class MoveListener extends ComponentAdapter {
+
+		final Map<CachedBorderPainter, Boolean> painters = new WeakHashMap<CachedBorderPainter, Boolean>();
+
+		@Override
+		public void componentMoved(ComponentEvent e) {
+			checkDevices();
+			if (GraphicsEnvironment.isHeadless()) {
+				return;
+			}
+
+			Window window = (Window) e.getComponent();
+			GraphicsConfiguration target = configurationAt(window.getBounds());
+			if ((target == null) || deviceId(target).equals(deviceId(window.getGraphicsConfiguration()))) {
+				return;
+			}
+
+			List<CachedBorderPainter> snapshot = new ArrayList<CachedBorderPainter>(painters.keySet());
+			for (CachedBorderPainter painter : snapshot) {
+				painter.prerender(window, target);
+			}
+		}
+	}
+}
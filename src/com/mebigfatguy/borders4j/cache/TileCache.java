@@ -0,0 +1,116 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+abstract class TileCache<V> {
+
+	private final LinkedHashMap<BorderRenderCache.Key, V> tiles = new LinkedHashMap<BorderRenderCache.Key, V>(16, 0.75f, true);
+	private long budget;
+	private long size;
+
+	TileCache(long budget) {
+		this.budget = budget;
+	}
+
+	public synchronized long getBudget() {
+		return budget;
+	}
+
+	public synchronized void setBudget(long budget) {
+		this.budget = budget;
+		evict();
+	}
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public synchronized void clear() {
+		for (V tile : tiles.values()) {
+			discarded(tile);
+		}
+		tiles.clear();
+		size = 0;
+	}
+
+	public synchronized void removeDevice(String device) {
+		Iterator<Map.Entry<BorderRenderCache.Key, V>> it = tiles.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<BorderRenderCache.Key, V> entry = it.next();
+			if (entry.getKey().getDevice().equals(device)) {
+				size -= sizeOf(entry.getValue());
+				discarded(entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	public synchronized boolean contains(BorderRenderCache.Key key) {
+		return tiles.containsKey(key);
+	}
+
+	public synchronized boolean fits(int width, int height) {
+		return sizeOf(width, height) <= budget;
+	}
+
+	synchronized V lookup(BorderRenderCache.Key key) {
+		return tiles.get(key);
+	}
+
+	synchronized boolean store(BorderRenderCache.Key key, V tile) {
+		long bytes = sizeOf(tile);
+		if (bytes > budget) {
+			return false;
+		}
+
+		V old = tiles.put(key, tile);
+		if (old != null) {
+			size -= sizeOf(old);
+			if (old != tile) {
+				discarded(old);
+			}
+		}
+		size += bytes;
+
+		evict();
+		return true;
+	}
+
+	private void evict() {
+		Iterator<V> it = tiles.values().iterator();
+		while ((size > budget) && it.hasNext()) {
+			V tile = it.next();
+			size -= sizeOf(tile);
+			discarded(tile);
+			it.remove();
+		}
+	}
+
+	abstract long sizeOf(V tile);
+
+	void discarded(V tile) {
+	}
+
+	static long sizeOf(int width, int height) {
+		return 4L * width * height;
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.image.VolatileImage;
+
+public class VolatileImageCache extends TileCache<VolatileImage> {
+
+	public static final long DEFAULT_BUDGET = 32L * 1024L * 1024L;
+
+	private static final VolatileImageCache INSTANCE = new VolatileImageCache(DEFAULT_BUDGET);
+
+	public VolatileImageCache(long budget) {
+		super(budget);
+	}
+
+	public static VolatileImageCache getInstance() {
+		return INSTANCE;
+	}
+
+	public VolatileImage get(BorderRenderCache.Key key) {
+		return lookup(key);
+	}
+
+	public boolean put(BorderRenderCache.Key key, VolatileImage image) {
+		return store(key, image);
+	}
+
+	@Override
+	long sizeOf(VolatileImage image) {
+		return sizeOf(image.getWidth(), image.getHeight());
+	}
+
+	@Override
+	void discarded(VolatileImage image) {
+		image.flush();
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class BorderMetrics implements BorderMetricsMBean {
+
+	public static final String DOMAIN = "com.mebigfatguy.borders4j";
+
+	private static final BorderMetrics INSTANCE = new BorderMetrics();
+	private static final ConcurrentMap<Class<?>, BorderStats> STATS = new ConcurrentHashMap<Class<?>, BorderStats>();
+	private static volatile boolean enabled = Boolean.getBoolean("borders4j.metrics");
+	private static volatile boolean recording;
+	private static volatile boolean active = enabled;
+	private static volatile boolean registered;
+	private static volatile EventSink events;
+
+	static {
+		if (enabled) {
+			register();
+		}
+	}
+
+	private BorderMetrics() {
+	}
+
+	public static BorderMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	public static synchronized void register() {
+		if (registered) {
+			return;
+		}
+
+		registered = true;
+		register(INSTANCE, DOMAIN + ":type=BorderMetrics");
+		for (Map.Entry<Class<?>, BorderStats> entry : STATS.entrySet()) {
+			register(entry.getValue(), statsName(entry.getKey()));
+		}
+		installEventSink();
+	}
+
+	public static BorderStatsMBean getStats(Class<?> borderClass) {
+		return STATS.get(borderClass);
+	}
+
+	public static long startPaint() {
+		return start(EventSink.PAINT);
+	}
+
+	public static long startGeometry() {
+		return start(EventSink.GEOMETRY);
+	}
+
+	public static long startCacheFill() {
+		return start(EventSink.CACHE_FILL);
+	}
+
+	public static long startAnimationTick() {
+		return start(EventSink.ANIMATION_TICK);
+	}
+
+	private static long start(int kind) {
+		if (!active) {
+			return 0L;
+		}
+		if (recording) {
+			events.begin(kind);
+		}
+
+		return System.nanoTime();
+	}
+
+	public static void paintFinished(Class<?> borderClass, Component c, Graphics g, long start) {
+		if (start != 0L) {
+			long elapsed = System.nanoTime() - start;
+			if (enabled) {
+				BorderStats s = statsFor(borderClass);
+				s.paints.incrementAndGet();
+				s.paintTimes.record(elapsed);
+			}
+			EventSink sink = events;
+			if (sink != null) {
+				sink.paint(borderClass, c.getWidth(), c.getHeight(), g, elapsed);
+			}
+		}
+	}
+
+	public static void cacheLookup(Class<?> borderClass) {
+		if (enabled) {
+			statsFor(borderClass).cacheLookups.incrementAndGet();
+		}
+	}
+
+	public static void cacheFilled(Class<?> borderClass, int width, int height, long start) {
+		if (start != 0L) {
+			long elapsed = System.nanoTime() - start;
+			if (enabled) {
+				statsFor(borderClass).cacheMisses.incrementAndGet();
+			}
+			EventSink sink = events;
+			if (sink != null) {
+				sink.cacheFill(borderClass, width, height, elapsed);
+			}
+		}
+	}
+
+	public static void recalculated(Class<?> borderClass, int width, int height, long start) {
+		if (start != 0L) {
+			long elapsed = System.nanoTime() - start;
+			if (enabled) {
+				statsFor(borderClass).recalculations.incrementAndGet();
+			}
+			EventSink sink = events;
+			if (sink != null) {
+				sink.geometry(borderClass, width, height, elapsed);
+			}
+		}
+	}
+
+	public static void animationTicked(Class<?> borderClass, Component c, long start) {
+		if (start != 0L) {
+			long elapsed = System.nanoTime() - start;
+			if (enabled) {
+				statsFor(borderClass).animationTicks.incrementAndGet();
+			}
+			EventSink sink = events;
+			if (sink != null) {
+				sink.animationTick(borderClass, c.getWidth(), c.getHeight(), elapsed);
+			}
+		}
+	}
+
+	static void setRecording(boolean recording) {
+		BorderMetrics.recording = recording && (events != null);
+		active = enabled || BorderMetrics.recording;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		if (enabled) {
+			register();
+		}
+		BorderMetrics.enabled = enabled;
+		active = enabled || recording;
+	}
+
+	@Override
+	public String[] getBorderClasses() {
+		List<String> names = new ArrayList<String>(STATS.size());
+		for (Class<?> borderClass : STATS.keySet()) {
+			names.add(borderClass.getName());
+		}
+
+		return names.toArray(new String[names.size()]);
+	}
+
+	@Override
+	public void reset() {
+		for (BorderStats s : STATS.values()) {
+			s.reset();
+		}
+	}
+
+	private static BorderStats statsFor(Class<?> borderClass) {
+		BorderStats s = STATS.get(borderClass);
+		if (s == null) {
+			s = new BorderStats();
+			BorderStats existing = STATS.putIfAbsent(borderClass, s);
+			if (existing != null) {
+				return existing;
+			}
+			if (registered) {
+				register(s, statsName(borderClass));
+			}
+		}
+
+		return s;
+	}
+
+	private static String statsName(Class<?> borderClass) {
+		return DOMAIN + ":type=BorderStats,name=" + ObjectName.quote(borderClass.getName());
+	}
+
+	private static void installEventSink() {
+		Thread installer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				EventSink sink = createEventSink();
+				if (sink != null) {
+					events = sink;
+					sink.install();
+				}
+			}
+		}, "borders4j-metrics-events");
+		installer.setDaemon(true);
+		installer.start();
+	}
+
+	private static EventSink createEventSink() {
+		try {
+			Class.forName("jdk.jfr.FlightRecorder");
+			return (EventSink) Class.forName(BorderMetrics.class.getPackage().getName() + ".JfrEventSink").getConstructor().newInstance();
+		} catch (Exception e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	private static void register(Object mbean, String name) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(name);
+			if (!server.isRegistered(objectName)) {
+				server.registerMBean(mbean, objectName);
+			}
+		} catch (JMException e) {
+			// metrics are optional, painting must not fail because jmx is unavailable
+		}
+	}
+}
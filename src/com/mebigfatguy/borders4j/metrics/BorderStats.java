@@ -0,0 +1,82 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BorderStats implements BorderStatsMBean {
+
+	private static final long NANOS_PER_MICRO = 1000L;
+
+	final AtomicLong paints = new AtomicLong();
+	final AtomicLong cacheLookups = new AtomicLong();
+	final AtomicLong cacheMisses = new AtomicLong();
+	final AtomicLong recalculations = new AtomicLong();
+	final AtomicLong animationTicks = new AtomicLong();
+	final LatencyHistogram paintTimes = new LatencyHistogram();
+
+	@Override
+	public long getPaintCount() {
+		return paints.get();
+	}
+
+	@Override
+	public long getCacheHitCount() {
+		return Math.max(0, cacheLookups.get() - cacheMisses.get());
+	}
+
+	@Override
+	public long getCacheMissCount() {
+		return cacheMisses.get();
+	}
+
+	@Override
+	public long getRecalculationCount() {
+		return recalculations.get();
+	}
+
+	@Override
+	public long getAnimationTickCount() {
+		return animationTicks.get();
+	}
+
+	@Override
+	public long getPaintTimeP50Micros() {
+		return paintTimes.getPercentile(50.0) / NANOS_PER_MICRO;
+	}
+
+	@Override
+	public long getPaintTimeP99Micros() {
+		return paintTimes.getPercentile(99.0) / NANOS_PER_MICRO;
+	}
+
+	@Override
+	public long getPaintTimeMaxMicros() {
+		return paintTimes.getMax() / NANOS_PER_MICRO;
+	}
+
+	@Override
+	public void reset() {
+		paints.set(0);
+		cacheLookups.set(0);
+		cacheMisses.set(0);
+		recalculations.set(0);
+		animationTicks.set(0);
+		paintTimes.reset();
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+public interface BorderStatsMBean {
+
+	long getPaintCount();
+
+	long getCacheHitCount();
+
+	long getCacheMissCount();
+
+	long getRecalculationCount();
+
+	long getAnimationTickCount();
+
+	long getPaintTimeP50Micros();
+
+	long getPaintTimeP99Micros();
+
+	long getPaintTimeMaxMicros();
+
+	void reset();
+}
@@ -0,0 +1,40 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import java.awt.Graphics;
+
+interface EventSink {
+
+	int PAINT = 0;
+	int GEOMETRY = 1;
+	int CACHE_FILL = 2;
+	int ANIMATION_TICK = 3;
+
+	void install();
+
+	void begin(int kind);
+
+	void paint(Class<?> borderClass, int width, int height, Graphics g, long elapsed);
+
+	void geometry(Class<?> borderClass, int width, int height, long elapsed);
+
+	void cacheFill(Class<?> borderClass, int width, int height, long elapsed);
+
+	void animationTick(Class<?> borderClass, int width, int height, long elapsed);
+}
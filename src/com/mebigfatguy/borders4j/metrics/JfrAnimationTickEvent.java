@@ -0,0 +1,47 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.mebigfatguy.borders4j.AnimationTick")
+@Label("Border Animation Tick")
+@Description("Time spent advancing a border animation")
+@Category("borders4j")
+@StackTrace(false)
+class JfrAnimationTickEvent extends Event {
+
+	@Label("Border Class")
+	Class<?> borderClass;
+
+	@Label("Width")
+	int width;
+
+	@Label("Height")
+	int height;
+
+	@Label("Elapsed")
+	@Timespan(Timespan.NANOSECONDS)
+	long elapsed;
+}
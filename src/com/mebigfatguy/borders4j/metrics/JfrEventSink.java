@@ -0,0 +1,158 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+class JfrEventSink implements EventSink {
+
+	private final ThreadLocal<List<Event>> started = new ThreadLocal<List<Event>>() {
+		@Override
+		protected List<Event> initialValue() {
+			return new ArrayList<Event>();
+		}
+	};
+
+	public JfrEventSink() {
+	}
+
+	@Override
+	public void begin(int kind) {
+		Event event;
+		if (kind == PAINT) {
+			event = new JfrPaintEvent();
+		} else if (kind == GEOMETRY) {
+			event = new JfrGeometryEvent();
+		} else if (kind == CACHE_FILL) {
+			event = new JfrCacheFillEvent();
+		} else {
+			event = new JfrAnimationTickEvent();
+		}
+
+		if (event.isEnabled()) {
+			event.begin();
+			started.get().add(event);
+		}
+	}
+
+	@Override
+	public void install() {
+		FlightRecorder.addListener(new FlightRecorderListener() {
+			@Override
+			public void recorderInitialized(FlightRecorder recorder) {
+				update(recorder);
+			}
+
+			@Override
+			public void recordingStateChanged(Recording recording) {
+				update(FlightRecorder.getFlightRecorder());
+			}
+		});
+	}
+
+	@Override
+	public void paint(Class<?> borderClass, int width, int height, Graphics g, long elapsed) {
+		JfrPaintEvent event = finish(JfrPaintEvent.class);
+		if (event != null) {
+			event.borderClass = borderClass;
+			event.width = width;
+			event.height = height;
+			Rectangle clip = g.getClipBounds();
+			if (clip != null) {
+				event.clipX = clip.x;
+				event.clipY = clip.y;
+				event.clipWidth = clip.width;
+				event.clipHeight = clip.height;
+			}
+			event.elapsed = elapsed;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void geometry(Class<?> borderClass, int width, int height, long elapsed) {
+		JfrGeometryEvent event = finish(JfrGeometryEvent.class);
+		if (event != null) {
+			event.borderClass = borderClass;
+			event.width = width;
+			event.height = height;
+			event.elapsed = elapsed;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void cacheFill(Class<?> borderClass, int width, int height, long elapsed) {
+		JfrCacheFillEvent event = finish(JfrCacheFillEvent.class);
+		if (event != null) {
+			event.borderClass = borderClass;
+			event.width = width;
+			event.height = height;
+			event.elapsed = elapsed;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void animationTick(Class<?> borderClass, int width, int height, long elapsed) {
+		JfrAnimationTickEvent event = finish(JfrAnimationTickEvent.class);
+		if (event != null) {
+			event.borderClass = borderClass;
+			event.width = width;
+			event.height = height;
+			event.elapsed = elapsed;
+			event.commit();
+		}
+	}
+
+	private <T extends Event> T finish(Class<T> eventClass) {
+		List<Event> events = started.get();
+		for (int i = events.size() - 1; i >= 0; i--) {
+			Event event = events.get(i);
+			if (event.getClass() == eventClass) {
+				// anything started above this event was abandoned by an exception
+				events.subList(i, events.size()).clear();
+				event.end();
+				return eventClass.cast(event);
+			}
+		}
+
+		return null;
+	}
+
+	private static void update(FlightRecorder recorder) {
+		boolean running = false;
+		for (Recording recording : recorder.getRecordings()) {
+			if (recording.getState() == RecordingState.RUNNING) {
+				running = true;
+				break;
+			}
+		}
+
+		BorderMetrics.setRecording(running);
+	}
+}
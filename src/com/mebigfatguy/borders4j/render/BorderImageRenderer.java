@@ -0,0 +1,142 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.render;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.border.Border;
+
+import com.mebigfatguy.borders4j.timer.BorderAnimator;
+
+public class BorderImageRenderer {
+
+	private final ExecutorService executor;
+	private final ThreadLocal<Component> components = new ThreadLocal<Component>() {
+		@Override
+		protected Component initialValue() {
+			return new RenderComponent();
+		}
+	};
+
+	public BorderImageRenderer() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public BorderImageRenderer(int threads) {
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "BorderImageRenderer-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	public BufferedImage render(Border border, int width, int height) {
+		return render(border, width, height, 0L);
+	}
+
+	public BufferedImage render(Border border, int width, int height, long frame) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		render(border, image, frame);
+		return image;
+	}
+
+	public void render(Border border, BufferedImage image) {
+		render(border, image, 0L);
+	}
+
+	public void render(Border border, BufferedImage image, long frame) {
+		if (frame < 0) {
+			throw new IllegalArgumentException("Negative animation frame " + frame);
+		}
+
+		int width = image.getWidth();
+		int height = image.getHeight();
+
+		Component c = components.get();
+		if ((c.getWidth() != width) || (c.getHeight() != height)) {
+			c.setBounds(0, 0, width, height);
+		}
+
+		Graphics2D g = image.createGraphics();
+		BorderAnimator.setPaintFrame(frame);
+		try {
+			g.setClip(0, 0, width, height);
+			border.paintBorder(c, g, 0, 0, width, height);
+		} finally {
+			BorderAnimator.clearPaintFrame();
+			g.dispose();
+		}
+	}
+
+	public void renderAll(Border border, List<BufferedImage> images) throws InterruptedException {
+		renderAll(border, images, 0L);
+	}
+
+	public void renderAll(final Border border, List<BufferedImage> images, final long frame) throws InterruptedException {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(images.size());
+		for (final BufferedImage image : images) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() {
+					render(border, image, frame);
+					return null;
+				}
+			});
+		}
+
+		for (Future<Void> future : executor.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException("Failed rendering border", cause);
+			}
+		}
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private static class RenderComponent extends Component {
+
+		private static final long serialVersionUID = -2237719472447542810L;
+	}
+}
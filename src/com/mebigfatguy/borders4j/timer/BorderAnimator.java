@@ -0,0 +1,295 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.timer;
+
+import java.awt.Component;
+import java.awt.Frame;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.border.Border;
+
+import com.mebigfatguy.borders4j.metrics.BorderMetrics;
+import com.mebigfatguy.borders4j.util.GraphicsUtils;
+
+public class BorderAnimator {
+
+	public static final int FRAME_DELAY = 15;
+
+	private static final BorderAnimator INSTANCE = new BorderAnimator();
+	private static final long EPOCH = System.nanoTime();
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private static final ThreadLocal<Long> PAINT_FRAMES = new ThreadLocal<Long>();
+
+	private final Map<Component, List<Animation>> animations = new WeakHashMap<Component, List<Animation>>();
+	private final Map<Component, Long> repaints = new WeakHashMap<Component, Long>();
+	private final Timer timer;
+	private final HierarchyListener showingListener;
+
+	private BorderAnimator() {
+		timer = new Timer(FRAME_DELAY, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				tick();
+			}
+		});
+		timer.setCoalesce(true);
+
+		showingListener = new HierarchyListener() {
+			@Override
+			public void hierarchyChanged(HierarchyEvent e) {
+				if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+					showingChanged(e.getComponent());
+				}
+			}
+		};
+	}
+
+	public static BorderAnimator getInstance() {
+		return INSTANCE;
+	}
+
+	public static long currentFrame(int delay) {
+		return (System.nanoTime() - EPOCH) / (delay * NANOS_PER_MILLI);
+	}
+
+	public static long paintFrame(int delay) {
+		Long frame = PAINT_FRAMES.get();
+		if (frame != null) {
+			return frame.longValue();
+		}
+
+		return SwingUtilities.isEventDispatchThread() ? currentFrame(delay) : 0L;
+	}
+
+	public static void setPaintFrame(long frame) {
+		PAINT_FRAMES.set(Long.valueOf(frame));
+	}
+
+	public static void clearPaintFrame() {
+		PAINT_FRAMES.remove();
+	}
+
+	public void animate(Component c, Border border, int delay) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			return;
+		}
+
+		List<Animation> componentAnimations = animations.get(c);
+		if (componentAnimations == null) {
+			componentAnimations = new ArrayList<Animation>(1);
+			animations.put(c, componentAnimations);
+			c.addHierarchyListener(showingListener);
+		}
+
+		for (int i = 0; i < componentAnimations.size(); i++) {
+			Animation animation = componentAnimations.get(i);
+			if (animation.border.get() == border) {
+				if (animation.delay != delay) {
+					animation.delay = delay;
+					animation.frame = currentFrame(delay);
+				}
+				animation.painted = true;
+				if (animation.suspended) {
+					resume(animation);
+				}
+				return;
+			}
+		}
+
+		componentAnimations.add(new Animation(border, delay, currentFrame(delay)));
+
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	public void repaintLater(Component c, int delay) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			return;
+		}
+
+		repaints.put(c, Long.valueOf(System.nanoTime() + (delay * NANOS_PER_MILLI)));
+
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	private void showingChanged(Component c) {
+		List<Animation> componentAnimations = animations.get(c);
+		if (componentAnimations == null) {
+			c.removeHierarchyListener(showingListener);
+			return;
+		}
+
+		boolean showing = c.isShowing();
+		for (Animation animation : componentAnimations) {
+			if (showing) {
+				resume(animation);
+			} else {
+				animation.suspended = true;
+			}
+		}
+	}
+
+	private void resume(Animation animation) {
+		animation.suspended = false;
+		animation.painted = true;
+		animation.frame = currentFrame(animation.delay);
+
+		if (!timer.isRunning()) {
+			timer.start();
+		}
+	}
+
+	private void tick() {
+		boolean active = firePendingRepaints();
+
+		Iterator<Map.Entry<Component, List<Animation>>> it = animations.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Component, List<Animation>> entry = it.next();
+			Component c = entry.getKey();
+			List<Animation> componentAnimations = entry.getValue();
+			if (c == null) {
+				it.remove();
+				continue;
+			}
+
+			Iterator<Animation> ait = componentAnimations.iterator();
+			while (ait.hasNext()) {
+				Animation animation = ait.next();
+				Border border = animation.border.get();
+				if (border == null) {
+					ait.remove();
+				} else if (!animation.suspended) {
+					long frame = currentFrame(animation.delay);
+					if (frame != animation.frame) {
+						if (!isVisible(c, border)) {
+							animation.suspended = true;
+						} else if (!animation.painted) {
+							// the last repaint never reached this border, so it is no longer showing here
+							ait.remove();
+						} else {
+							animation.painted = false;
+							animation.frame = frame;
+							repaintBorder(c, border);
+							active = true;
+						}
+					} else {
+						active = true;
+					}
+				}
+			}
+
+			if (componentAnimations.isEmpty()) {
+				c.removeHierarchyListener(showingListener);
+				it.remove();
+			}
+		}
+
+		if (!active) {
+			timer.stop();
+		}
+	}
+
+	private boolean firePendingRepaints() {
+		if (repaints.isEmpty()) {
+			return false;
+		}
+
+		boolean pending = false;
+		long now = System.nanoTime();
+
+		Iterator<Map.Entry<Component, Long>> it = repaints.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Component, Long> entry = it.next();
+			Component c = entry.getKey();
+			if (c == null) {
+				it.remove();
+			} else if ((now - entry.getValue().longValue()) >= 0) {
+				it.remove();
+				c.repaint();
+			} else {
+				pending = true;
+			}
+		}
+
+		return pending;
+	}
+
+	private static boolean isVisible(Component c, Border border) {
+		if (!c.isShowing()) {
+			return false;
+		}
+
+		Window w = SwingUtilities.getWindowAncestor(c);
+		if ((w instanceof Frame) && ((((Frame) w).getExtendedState() & Frame.ICONIFIED) != 0)) {
+			return false;
+		}
+
+		if (c instanceof JComponent) {
+			Rectangle visible = ((JComponent) c).getVisibleRect();
+			Insets insets = border.getBorderInsets(c);
+			return GraphicsUtils.intersectsFrame(visible, new Rectangle(0, 0, c.getWidth(), c.getHeight()), insets.top, insets.left, insets.bottom, insets.right);
+		}
+
+		return true;
+	}
+
+	private static void repaintBorder(Component c, Border border) {
+		long start = BorderMetrics.startAnimationTick();
+		Rectangle r = c.getBounds();
+		Insets insets = border.getBorderInsets(c);
+
+		c.repaint(r.x, r.y, r.width, insets.top);
+		c.repaint(r.x, r.y, insets.left, r.height);
+		c.repaint(r.x, r.y + r.height - insets.bottom, r.width, insets.bottom);
+		c.repaint(r.x + r.width - insets.right, r.y, insets.right, r.height);
+
+		BorderMetrics.animationTicked(border.getClass(), c, start);
+	}
+
+	private static final class Animation {
+		final WeakReference<Border> border;
+		int delay;
+		long frame;
+		boolean painted = true;
+		boolean suspended;
+
+		Animation(Border border, int delay, long frame) {
+			this.border = new WeakReference<Border>(border);
+			this.delay = delay;
+			this.frame = frame;
+		}
+	}
+}
@@ -7,6 +7,10 @@ import java.awt.event.ActionListener;
 
 import javax.swing.Timer;
 
+/**
+ * @deprecated borders are animated through the shared {@link BorderAnimator}
+ */
+@Deprecated
 public class BorderTimer extends Timer {
 
 	private static final long serialVersionUID = 1112283367936059895L;
@@ -0,0 +1,89 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.util;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+
+public class GraphicsUtils {
+
+	private GraphicsUtils() {
+	}
+
+	public static double deviceScale(Graphics g) {
+		if (!(g instanceof Graphics2D)) {
+			return 1.0;
+		}
+
+		return deviceScale(((Graphics2D) g).getTransform());
+	}
+
+	public static double deviceScale(AffineTransform tx) {
+		double scaleX = Math.sqrt((tx.getScaleX() * tx.getScaleX()) + (tx.getShearY() * tx.getShearY()));
+		double scaleY = Math.sqrt((tx.getShearX() * tx.getShearX()) + (tx.getScaleY() * tx.getScaleY()));
+		double scale = Math.max(scaleX, scaleY);
+
+		return (scale > 0.0) ? scale : 1.0;
+	}
+
+	public static boolean intersects(Rectangle clip, int x, int y, int width, int height) {
+		if (clip == null) {
+			return true;
+		}
+
+		return (x < clip.x + clip.width) && (clip.x < x + width) && (y < clip.y + clip.height) && (clip.y < y + height);
+	}
+
+	public static boolean intersectsFrame(Rectangle clip, Rectangle r, int top, int left, int bottom, int right) {
+		if (clip == null) {
+			return true;
+		}
+
+		if (!intersects(clip, r.x, r.y, r.width, r.height)) {
+			return false;
+		}
+
+		return (clip.x < r.x + left) || (clip.y < r.y + top) || (clip.x + clip.width > r.x + r.width - right) || (clip.y + clip.height > r.y + r.height - bottom);
+	}
+
+	public static Rectangle[] frameBands(Rectangle r, int top, int left, int bottom, int right) {
+		int bottomY = Math.max(r.y + top, r.y + r.height - bottom);
+		int rightX = Math.max(r.x + left, r.x + r.width - right);
+		int sideHeight = bottomY - r.y - top;
+
+		return new Rectangle[] {
+			new Rectangle(r.x, r.y, r.width, Math.min(top, r.height)),
+			new Rectangle(r.x, r.y + top, Math.min(left, r.width), sideHeight),
+			new Rectangle(r.x, bottomY, r.width, r.y + r.height - bottomY),
+			new Rectangle(rightX, r.y + top, r.x + r.width - rightX, sideHeight)
+		};
+	}
+
+	public static void drawPlaceholder(Graphics g, Rectangle r, int top, int left, int bottom, int right, Color color) {
+		Color saveColor = g.getColor();
+		try {
+			g.setColor(color);
+			g.drawRect(r.x + left / 2, r.y + top / 2, r.width - 1 - (left / 2) - (right / 2), r.height - 1 - (top / 2) - (bottom / 2));
+		} finally {
+			g.setColor(saveColor);
+		}
+	}
+}
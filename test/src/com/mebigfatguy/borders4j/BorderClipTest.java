@@ -0,0 +1,138 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+import javax.swing.border.Border;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BorderClipTest {
+
+	private static final int WIDTH = 300;
+	private static final int HEIGHT = 200;
+	private static final int[] TILES = { 5, 7, 32 };
+
+	@Test
+	public void testCastleBorder() {
+		assertTiledMatchesFull(new CastleBorder());
+		assertTiledMatchesFull(new CastleBorder(new CastleBorder.Options().setLineWidth(4)));
+		assertTiledMatchesFull(new CastleBorder(new CastleBorder.Options().setLineWidth(11)));
+		assertTiledMatchesFull(new CastleBorder(new CastleBorder.Options().setLineWidth(3).setCached(true)));
+	}
+
+	@Test
+	public void testScallopBorder() {
+		assertTiledMatchesFull(new ScallopBorder());
+		assertTiledMatchesFull(new ScallopBorder(new ScallopBorder.Options().setLineWidth(4)));
+		assertTiledMatchesFull(new ScallopBorder(new ScallopBorder.Options().setLineWidth(3).setPathRendering(true)));
+		assertTiledMatchesFull(new ScallopBorder(new ScallopBorder.Options().setLineWidth(3).setCached(true)));
+	}
+
+	@Test
+	public void testCurlyBraceBorder() {
+		assertTiledMatchesFull(new CurlyBraceBorder());
+		assertTiledMatchesFull(new CurlyBraceBorder(new CurlyBraceBorder.Options().setLineWidth(4)));
+		assertTiledMatchesFull(new CurlyBraceBorder(new CurlyBraceBorder.Options().setLineWidth(3).setPathRendering(true)));
+		assertTiledMatchesFull(new CurlyBraceBorder(new CurlyBraceBorder.Options().setLineWidth(3).setCached(true)));
+	}
+
+	@Test
+	public void testScrollBorder() {
+		assertTiledMatchesFull(new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(1)));
+		assertTiledMatchesFull(new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(3)));
+		assertTiledMatchesFull(new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(5)));
+		assertTiledMatchesFull(new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(3).setPathRendering(true)));
+		assertTiledMatchesFull(new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(3).setCached(true)));
+	}
+
+	@Test
+	public void testAlphaBorder() {
+		assertTiledMatchesFull(new AlphaBorder());
+		assertTiledMatchesFull(new AlphaBorder(new AlphaBorder.Options().setCached(true)));
+	}
+
+	@Test
+	public void testCheckerboardBorder() {
+		assertTiledMatchesFull(new CheckerboardBorder());
+		assertTiledMatchesFull(new CheckerboardBorder(new CheckerboardBorder.Options().setCached(true)));
+	}
+
+	@Test
+	public void testCircleCornersBorder() {
+		assertTiledMatchesFull(new CircleCornersBorder());
+		assertTiledMatchesFull(new CircleCornersBorder(new CircleCornersBorder.Options().setDrawEdges(true).setLineWidth(3)));
+	}
+
+	@Test
+	public void testHairBorder() {
+		assertTiledMatchesFull(new HairBorder());
+		assertTiledMatchesFull(new HairBorder(new HairBorder.Options().setLineWidth(3)));
+	}
+
+	@Test
+	public void testMultilineBorder() {
+		assertTiledMatchesFull(new MultilineBorder());
+	}
+
+	@Test
+	public void testShadowedPageBorder() {
+		assertTiledMatchesFull(new ShadowedPageBorder());
+		assertTiledMatchesFull(new ShadowedPageBorder(new ShadowedPageBorder.Options().setBlurRadius(6)));
+	}
+
+	private static void assertTiledMatchesFull(Border border) {
+		JPanel panel = new JPanel();
+		panel.setBounds(0, 0, WIDTH, HEIGHT);
+
+		BufferedImage full = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = createGraphics(full);
+		border.paintBorder(panel, g, 0, 0, WIDTH, HEIGHT);
+		g.dispose();
+
+		for (int tile : TILES) {
+			BufferedImage tiled = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			for (int y = 0; y < HEIGHT; y += tile) {
+				for (int x = 0; x < WIDTH; x += tile) {
+					g = createGraphics(tiled);
+					g.setClip(x, y, tile, tile);
+					border.paintBorder(panel, g, 0, 0, WIDTH, HEIGHT);
+					g.dispose();
+				}
+			}
+
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					Assert.assertEquals(border.getClass().getSimpleName() + " with " + tile + "px tiles at " + x + "," + y, full.getRGB(x, y), tiled.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	private static Graphics2D createGraphics(BufferedImage image) {
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		return g;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HairBorderTest {
+
+	@Test
+	public void testHairIndexPicksNearestHair() {
+		for (int spacing = 1; spacing <= 9; spacing++) {
+			HairBorder border = new HairBorder(new HairBorder.Options().setLineSpacing(spacing));
+			for (int start = 0; start < 20; start += 7) {
+				for (int end = start + 1; end < start + 60; end++) {
+					for (int pos = start - 5; pos < end + 5; pos++) {
+						int hair = border.hairIndex(pos, start, end);
+						Assert.assertTrue(hair >= 0);
+						Assert.assertTrue(start + hair * spacing < end);
+
+						int nearest = Integer.MAX_VALUE;
+						for (int h = start; h < end; h += spacing) {
+							nearest = Math.min(nearest, Math.abs(h - pos));
+						}
+						Assert.assertEquals("spacing " + spacing + ", hairs " + start + "-" + end + ", pos " + pos, nearest, Math.abs(start + hair * spacing - pos));
+					}
+				}
+			}
+		}
+	}
+}
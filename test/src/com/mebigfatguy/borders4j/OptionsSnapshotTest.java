@@ -0,0 +1,112 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+import javax.swing.border.Border;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OptionsSnapshotTest {
+
+	private static final int WIDTH = 240;
+	private static final int HEIGHT = 160;
+
+	@Test
+	public void testCastleBorder() {
+		CastleBorder.Options options = new CastleBorder.Options().setCached(true);
+		Border border = new CastleBorder(options);
+		options.setFillColor(Color.GREEN).setLineColor(Color.GREEN).setTop(30);
+
+		assertUnchanged(border, new CastleBorder(new CastleBorder.Options().setCached(true)), WIDTH, HEIGHT);
+	}
+
+	@Test
+	public void testScallopBorder() {
+		ScallopBorder.Options options = new ScallopBorder.Options().setCached(true);
+		Border border = new ScallopBorder(options);
+		options.setLineColor(Color.GREEN).setLineWidth(4).setTop(30);
+
+		assertUnchanged(border, new ScallopBorder(new ScallopBorder.Options().setCached(true)), WIDTH + 1, HEIGHT);
+	}
+
+	@Test
+	public void testCurlyBraceBorder() {
+		CurlyBraceBorder.Options options = new CurlyBraceBorder.Options().setCached(true);
+		Border border = new CurlyBraceBorder(options);
+		options.setColor(Color.GREEN).setLineWidth(4).setTop(30);
+
+		assertUnchanged(border, new CurlyBraceBorder(new CurlyBraceBorder.Options().setCached(true)), WIDTH + 2, HEIGHT);
+	}
+
+	@Test
+	public void testScrollBorder() {
+		ScrollBorder.Options options = new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(2).setCached(true);
+		Border border = new ScrollBorder(options);
+		options.setColor(Color.GREEN).setLineWidth(4).setTop(30);
+
+		assertUnchanged(border, new ScrollBorder(new ScrollBorder.Options().setColor(Color.BLACK).setLineWidth(2).setCached(true)), WIDTH + 3, HEIGHT);
+	}
+
+	@Test
+	public void testAlphaBorder() {
+		AlphaBorder.Options options = new AlphaBorder.Options().setCached(true);
+		Border border = new AlphaBorder(options);
+		options.setColor(Color.GREEN).setTransparency(0.9f).setTop(30);
+
+		assertUnchanged(border, new AlphaBorder(new AlphaBorder.Options().setCached(true)), WIDTH + 4, HEIGHT);
+	}
+
+	private static void assertUnchanged(Border border, Border reference, int width, int height) {
+		JPanel panel = new JPanel();
+		panel.setBounds(0, 0, width, height);
+
+		Assert.assertEquals(reference.getBorderInsets(panel), border.getBorderInsets(panel));
+
+		int[] painted = paint(border, panel, width, height);
+		int[] expected = paint(reference, panel, width, height);
+		for (int i = 0; i < painted.length; i++) {
+			Assert.assertFalse(isGreen(expected[i]));
+			Assert.assertEquals("pixel " + (i % width) + "," + (i / width), expected[i], painted[i]);
+		}
+	}
+
+	private static int[] paint(Border border, JPanel panel, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			border.paintBorder(panel, g, 0, 0, width, height);
+		} finally {
+			g.dispose();
+		}
+		return image.getRGB(0, 0, width, height, null, 0, width);
+	}
+
+	private static boolean isGreen(int argb) {
+		int red = (argb >> 16) & 0xFF;
+		int green = (argb >> 8) & 0xFF;
+		int blue = argb & 0xFF;
+		return (green > red + 64) && (green > blue + 64);
+	}
+}
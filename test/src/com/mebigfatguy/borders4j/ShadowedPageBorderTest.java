@@ -0,0 +1,87 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShadowedPageBorderTest {
+
+	@Test
+	public void testBoxBlurMatchesNaiveBlur() {
+		Random random = new Random(3);
+		for (int radius = 0; radius < 6; radius++) {
+			int width = 1 + random.nextInt(30);
+			int height = 1 + random.nextInt(30);
+			int[] src = new int[width * height];
+			for (int i = 0; i < src.length; i++) {
+				src[i] = random.nextInt(256);
+			}
+
+			int[] dst = new int[src.length];
+			ShadowedPageBorder.boxBlur(src, dst, width, height, radius);
+
+			int window = 2 * radius + 1;
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					int sum = 0;
+					for (int k = x - radius; k <= x + radius; k++) {
+						if ((k >= 0) && (k < width)) {
+							sum += src[y * width + k];
+						}
+					}
+					Assert.assertEquals("radius " + radius + " at " + x + "," + y, (sum + window / 2) / window, dst[x * height + y]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testShadowFallsOffSymmetrically() {
+		for (int radius = 1; radius <= 12; radius++) {
+			BufferedImage shadow = ShadowedPageBorder.createShadow(radius, new Color(0, 0, 0, 128));
+			int size = shadow.getWidth();
+			Assert.assertEquals(4 * radius + 1, size);
+			Assert.assertEquals(size, shadow.getHeight());
+
+			int center = 2 * radius;
+			Assert.assertEquals(128, alpha(shadow, center, center));
+
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					int a = alpha(shadow, x, y);
+					Assert.assertEquals(a, alpha(shadow, size - 1 - x, y));
+					Assert.assertEquals(a, alpha(shadow, x, size - 1 - y));
+					// rounding between the horizontal and vertical passes leaves the diagonal within one step
+					Assert.assertTrue("transpose " + x + "," + y, Math.abs(a - alpha(shadow, y, x)) <= 1);
+					if (x < center) {
+						Assert.assertTrue(a <= alpha(shadow, x + 1, y));
+					}
+				}
+			}
+		}
+	}
+
+	private static int alpha(BufferedImage image, int x, int y) {
+		return image.getRGB(x, y) >>> 24;
+	}
+}
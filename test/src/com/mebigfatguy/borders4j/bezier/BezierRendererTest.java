@@ -0,0 +1,193 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.bezier;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.JPanel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.mebigfatguy.borders4j.ScallopBorder;
+import com.mebigfatguy.borders4j.cache.BorderRenderCache;
+
+public class BezierRendererTest {
+
+	private static final int SIZE = 320;
+	private static final int CURVES = 200;
+	private static final int MAX_DEPTH = 24;
+
+	@Test
+	public void testSingleCurvesMatchRecursiveFlattening() {
+		for (BezierRenderer.Quality quality : BezierRenderer.Quality.values()) {
+			for (int scale = 1; scale <= 2; scale++) {
+				Random random = new Random(quality.ordinal() * 10 + scale);
+				for (int i = 0; i < CURVES; i++) {
+					float[][] pts = randomCurve(random);
+					assertSameFlattening(quality, scale, Arrays.<float[][]>asList(pts), false);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCurveListsMatchRecursiveFlattening() {
+		for (BezierRenderer.Quality quality : BezierRenderer.Quality.values()) {
+			for (int scale = 1; scale <= 2; scale++) {
+				Random random = new Random(quality.ordinal() * 10 + scale);
+				List<float[][]> curves = new ArrayList<float[][]>();
+				for (int i = 0; i < 20; i++) {
+					curves.add(randomCurve(random));
+				}
+				assertSameFlattening(quality, scale, curves, true);
+			}
+		}
+	}
+
+	@Test
+	public void testQualityChangeRerendersCachedTiles() {
+		ScallopBorder border = new ScallopBorder(new ScallopBorder.Options().setCached(true));
+		BezierRenderer.Quality saveQuality = BezierRenderer.getQuality();
+		try {
+			BezierRenderer.setQuality(BezierRenderer.Quality.LOW);
+			int[] low = paint(border);
+
+			BezierRenderer.setQuality(BezierRenderer.Quality.HIGH);
+			int[] high = paint(border);
+			Assert.assertFalse(Arrays.equals(low, high));
+
+			BorderRenderCache.getInstance().clear();
+			Assert.assertTrue(Arrays.equals(paint(border), high));
+		} finally {
+			BezierRenderer.setQuality(saveQuality);
+		}
+	}
+
+	private static int[] paint(ScallopBorder border) {
+		JPanel panel = new JPanel();
+		panel.setBounds(0, 0, SIZE, SIZE / 2);
+		BufferedImage image = new BufferedImage(SIZE, SIZE / 2, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		border.paintBorder(panel, g, 0, 0, SIZE, SIZE / 2);
+		g.dispose();
+		return image.getRGB(0, 0, SIZE, SIZE / 2, null, 0, SIZE);
+	}
+
+	private static void assertSameFlattening(BezierRenderer.Quality quality, int scale, List<float[][]> curves, boolean asList) {
+		BezierRenderer.Quality saveQuality = BezierRenderer.getQuality();
+		BezierRenderer.setQuality(quality);
+		try {
+			BufferedImage iterative = newImage(scale);
+			Graphics2D g = createGraphics(iterative, scale);
+			if (asList) {
+				BezierRenderer.draw(g, curves);
+			} else {
+				for (float[][] pts : curves) {
+					BezierRenderer.draw(g, pts);
+				}
+			}
+			g.dispose();
+
+			BufferedImage recursive = newImage(scale);
+			g = createGraphics(recursive, scale);
+			float segmentLength = quality.getSegmentLength() / scale;
+			for (float[][] pts : curves) {
+				drawRecursive(g, pts, segmentLength * segmentLength, 0, scale > 1);
+			}
+			g.dispose();
+
+			int[] expected = recursive.getRGB(0, 0, recursive.getWidth(), recursive.getHeight(), null, 0, recursive.getWidth());
+			int[] actual = iterative.getRGB(0, 0, iterative.getWidth(), iterative.getHeight(), null, 0, iterative.getWidth());
+			for (int i = 0; i < expected.length; i++) {
+				Assert.assertEquals(quality + " at " + scale + "x, pixel " + i, expected[i], actual[i]);
+			}
+		} finally {
+			BezierRenderer.setQuality(saveQuality);
+		}
+	}
+
+	private static void drawRecursive(Graphics2D g, float[][] pts, float limitSq, int depth, boolean subpixel) {
+		float xdiff = pts[0][0] - pts[3][0];
+		xdiff *= xdiff;
+		float ydiff = pts[0][1] - pts[3][1];
+		ydiff *= ydiff;
+
+		if ((xdiff + ydiff < limitSq) || (depth >= MAX_DEPTH)) {
+			if (subpixel) {
+				g.draw(new Line2D.Float(pts[0][0], pts[0][1], pts[3][0], pts[3][1]));
+			} else {
+				g.drawLine(Math.round(pts[0][0]), Math.round(pts[0][1]), Math.round(pts[3][0]), Math.round(pts[3][1]));
+			}
+		} else {
+			float[][] left = new float[4][2];
+			float[][] right = new float[4][2];
+
+			left[0][0] = pts[0][0];
+			left[0][1] = pts[0][1];
+			left[1][0] = (pts[0][0] + pts[1][0]) / 2.0f;
+			left[1][1] = (pts[0][1] + pts[1][1]) / 2.0f;
+			right[3][0] = pts[3][0];
+			right[3][1] = pts[3][1];
+			right[2][0] = (pts[3][0] + pts[2][0]) / 2.0f;
+			right[2][1] = (pts[3][1] + pts[2][1]) / 2.0f;
+			float centerX = (pts[1][0] + pts[2][0]) / 2.0f;
+			float centerY = (pts[1][1] + pts[2][1]) / 2.0f;
+			left[2][0] = (left[1][0] + centerX) / 2.0f;
+			left[2][1] = (left[1][1] + centerY) / 2.0f;
+			right[1][0] = (right[2][0] + centerX) / 2.0f;
+			right[1][1] = (right[2][1] + centerY) / 2.0f;
+			left[3][0] = (left[2][0] + right[1][0]) / 2.0f;
+			left[3][1] = (left[2][1] + right[1][1]) / 2.0f;
+			right[0][0] = left[3][0];
+			right[0][1] = left[3][1];
+
+			drawRecursive(g, left, limitSq, depth + 1, subpixel);
+			drawRecursive(g, right, limitSq, depth + 1, subpixel);
+		}
+	}
+
+	private static float[][] randomCurve(Random random) {
+		float[][] pts = new float[4][2];
+		for (int i = 0; i < 4; i++) {
+			pts[i][0] = random.nextFloat() * SIZE;
+			pts[i][1] = random.nextFloat() * SIZE;
+		}
+		return pts;
+	}
+
+	private static BufferedImage newImage(int scale) {
+		return new BufferedImage(SIZE * scale, SIZE * scale, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	private static Graphics2D createGraphics(BufferedImage image, int scale) {
+		Graphics2D g = image.createGraphics();
+		g.scale(scale, scale);
+		g.setColor(Color.BLACK);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		return g;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BorderRenderCacheTest {
+
+	private static final int THREADS = 8;
+	private static final int GETS = 50;
+	private static final int ROUNDS = 2000;
+
+	@Test
+	public void testSingleFlightFill() throws InterruptedException {
+		final BorderRenderCache cache = new BorderRenderCache(BorderRenderCache.DEFAULT_BUDGET);
+		final AtomicInteger fills = new AtomicInteger();
+		final BorderRenderCache.Filler filler = new BorderRenderCache.Filler() {
+			@Override
+			public BufferedImage fill(BorderRenderCache.Key key) {
+				fills.incrementAndGet();
+				return new BufferedImage(key.getWidth(), key.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+			}
+		};
+
+		for (int round = 0; round < ROUNDS; round++) {
+			final BorderRenderCache.Key key = new BorderRenderCache.Key(BorderRenderCacheTest.class, "round", 0, round + 1, 1, 1.0);
+			final CountDownLatch start = new CountDownLatch(1);
+			final BufferedImage[] images = new BufferedImage[THREADS];
+			Thread[] threads = new Thread[THREADS];
+			for (int t = 0; t < THREADS; t++) {
+				final int index = t;
+				threads[t] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+						} catch (InterruptedException e) {
+							return;
+						}
+						for (int i = 0; i < GETS; i++) {
+							BufferedImage image = cache.get(key, filler);
+							if ((images[index] != null) && (images[index] != image)) {
+								images[index] = null;
+								return;
+							}
+							images[index] = image;
+						}
+					}
+				});
+				threads[t].start();
+			}
+
+			start.countDown();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+
+			Assert.assertEquals("fills after round " + round, round + 1, fills.get());
+			for (BufferedImage image : images) {
+				Assert.assertSame(images[0], image);
+			}
+		}
+	}
+
+	@Test
+	public void testBudgetEviction() {
+		BorderRenderCache cache = new BorderRenderCache(4L * 10 * 10 * 2);
+		BorderRenderCache.Filler filler = new BorderRenderCache.Filler() {
+			@Override
+			public BufferedImage fill(BorderRenderCache.Key key) {
+				return new BufferedImage(key.getWidth(), key.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+			}
+		};
+
+		BorderRenderCache.Key first = new BorderRenderCache.Key(BorderRenderCacheTest.class, "evict", 10, 10, 1.0);
+		BorderRenderCache.Key second = new BorderRenderCache.Key(BorderRenderCacheTest.class, "evict", 0, 10, 10, 2.0);
+		BorderRenderCache.Key third = new BorderRenderCache.Key(BorderRenderCacheTest.class, "evict", 1, 10, 10, 1.0);
+
+		cache.get(first, filler);
+		cache.get(second, filler);
+		Assert.assertTrue(cache.contains(first));
+		Assert.assertTrue(cache.contains(second));
+
+		cache.get(third, filler);
+		Assert.assertFalse(cache.contains(first));
+		Assert.assertTrue(cache.contains(third));
+		Assert.assertEquals(4L * 10 * 10 * 2, cache.getSize());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.cache;
+
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileCacheTest {
+
+	@Test
+	public void testDiscardedTiles() {
+		final List<Dimension> discarded = new ArrayList<Dimension>();
+		TileCache<Dimension> cache = new TileCache<Dimension>(4L * 10 * 10 * 2) {
+			@Override
+			long sizeOf(Dimension tile) {
+				return sizeOf(tile.width, tile.height);
+			}
+
+			@Override
+			void discarded(Dimension tile) {
+				discarded.add(tile);
+			}
+		};
+
+		BorderRenderCache.Key first = new BorderRenderCache.Key(TileCacheTest.class, "tile", 0, 10, 10, 1.0, "a");
+		BorderRenderCache.Key second = new BorderRenderCache.Key(TileCacheTest.class, "tile", 1, 10, 10, 1.0, "b");
+		BorderRenderCache.Key third = new BorderRenderCache.Key(TileCacheTest.class, "tile", 2, 10, 10, 1.0, "a");
+
+		Dimension oversize = new Dimension(20, 20);
+		Assert.assertFalse(cache.fits(20, 20));
+		Assert.assertFalse(cache.store(first, oversize));
+		Assert.assertFalse(cache.contains(first));
+		Assert.assertEquals(0, cache.getSize());
+
+		Dimension firstTile = new Dimension(10, 10);
+		Dimension secondTile = new Dimension(10, 10);
+		Dimension thirdTile = new Dimension(10, 10);
+		Assert.assertTrue(cache.store(first, firstTile));
+		Assert.assertTrue(cache.store(second, secondTile));
+		Assert.assertSame(firstTile, cache.lookup(first));
+
+		Assert.assertTrue(cache.store(third, thirdTile));
+		Assert.assertFalse(cache.contains(second));
+		Assert.assertEquals(1, discarded.size());
+		Assert.assertSame(secondTile, discarded.get(0));
+
+		Dimension replacement = new Dimension(10, 10);
+		Assert.assertTrue(cache.store(third, replacement));
+		Assert.assertSame(thirdTile, discarded.get(1));
+		Assert.assertEquals(4L * 10 * 10 * 2, cache.getSize());
+
+		cache.removeDevice("a");
+		Assert.assertEquals(0, cache.getSize());
+		Assert.assertEquals(4, discarded.size());
+
+		Assert.assertTrue(cache.store(second, secondTile));
+		cache.setBudget(0);
+		Assert.assertFalse(cache.contains(second));
+		Assert.assertEquals(5, discarded.size());
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * borders4j - An collection of swing borders
+ * Copyright 2011-2019 MeBigFatGuy.com
+ * Copyright 2011-2019 Dave Brosius
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.mebigfatguy.borders4j.metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBucketUpperBounds() {
+		long value = 0;
+		while (value < Long.MAX_VALUE / 4) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			histogram.record(value);
+			histogram.record(Long.MAX_VALUE / 2);
+
+			long reported = histogram.getPercentile(50);
+			Assert.assertTrue("value " + value + " reported as " + reported, reported >= value);
+			Assert.assertTrue("value " + value + " reported as " + reported, reported <= value + value / 16);
+
+			value = (value < 100000) ? value + 1 : value + value / 7;
+		}
+	}
+
+	@Test
+	public void testPercentilesOfRandomLatencies() {
+		Random random = new Random(7);
+		long[] values = new long[10000];
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (long) (Math.exp(random.nextDouble() * 12) * 100);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+
+		Assert.assertEquals(values.length, histogram.getCount());
+		Assert.assertEquals(values[values.length - 1], histogram.getMax());
+		double[] percentiles = { 1, 50, 90, 99, 99.9, 100 };
+		for (double percentile : percentiles) {
+			long exact = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+			long reported = histogram.getPercentile(percentile);
+			Assert.assertTrue("p" + percentile + " " + reported + " < " + exact, reported >= exact);
+			Assert.assertTrue("p" + percentile + " " + reported + " > " + exact, reported <= exact + exact / 16);
+		}
+	}
+
+	@Test
+	public void testEmptyAndReset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.getPercentile(99));
+
+		histogram.record(-5);
+		histogram.record(12345);
+		Assert.assertEquals(0, histogram.getPercentile(50));
+		Assert.assertEquals(12345, histogram.getMax());
+
+		histogram.reset();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getMax());
+		Assert.assertEquals(0, histogram.getPercentile(100));
+	}
+}